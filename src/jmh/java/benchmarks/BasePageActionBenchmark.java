@@ -0,0 +1,106 @@
+package benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pages.BasePage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BasePage action wrappers against the same raw Playwright calls on the login fixture
+ * The difference is what logging, latency recording and protocol call counting add per action
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BasePageActionBenchmark {
+    private static final String EMAIL_INPUT = "input[id='email']";
+    private static final String REMEMBER_ME_CHECKBOX = "input[type='checkbox']";
+    private static final String EMAIL_LABEL = "label[for='email']";
+
+    private Playwright playwright;
+    private Browser browser;
+    private Page page;
+    private ActionPage actionPage;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.configure();
+        playwright = Playwright.create();
+        browser = BenchmarkSupport.launchBrowser(playwright);
+        page = BenchmarkSupport.openFixture(browser, BenchmarkSupport.LOGIN_FIXTURE);
+        actionPage = new ActionPage(page);
+    }
+
+    @TearDown
+    public void tearDown() {
+        browser.close();
+        playwright.close();
+    }
+
+    @Benchmark
+    public void wrapperClick() {
+        actionPage.click(REMEMBER_ME_CHECKBOX);
+    }
+
+    @Benchmark
+    public void rawClick() {
+        page.locator(REMEMBER_ME_CHECKBOX).click();
+    }
+
+    @Benchmark
+    public void wrapperFill() {
+        actionPage.fill(EMAIL_INPUT, "parent@example.com");
+    }
+
+    @Benchmark
+    public void rawFill() {
+        page.locator(EMAIL_INPUT).fill("parent@example.com");
+    }
+
+    @Benchmark
+    public String wrapperGetText() {
+        return actionPage.getText(EMAIL_LABEL);
+    }
+
+    @Benchmark
+    public String rawTextContent() {
+        return page.locator(EMAIL_LABEL).textContent();
+    }
+
+    /**
+     * Exposes protected BasePage actions to the benchmark
+     */
+    static final class ActionPage extends BasePage {
+        ActionPage(Page page) {
+            super(page);
+        }
+
+        void click(String selector) {
+            clickElement(selector);
+        }
+
+        void fill(String selector, String text) {
+            fillElement(selector, text);
+        }
+
+        String getText(String selector) {
+            return getElementText(selector);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import ch.qos.logback.classic.Level;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Route;
+import config.BrowserManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared setup of the benchmarks
+ * Pages are filled from stand-in fixtures with setContent and every request is aborted,
+ * so no benchmark touches the network
+ */
+final class BenchmarkSupport {
+    static final String LOGIN_FIXTURE = "standin/login.html";
+    static final String ADMIN_DASHBOARD_FIXTURE = "standin/admin-dashboard.html";
+
+    private BenchmarkSupport() {
+        // Utility class
+    }
+
+    /**
+     * Applies settings every benchmark fork runs with
+     * Debug logging is switched off, otherwise console output dominates the measured time
+     */
+    static void configure() {
+        System.setProperty("browser.headless", "true");
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+    }
+
+    static Browser launchBrowser(Playwright playwright) {
+        return playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+    }
+
+    /**
+     * Opens fixture in a new context of browser
+     */
+    static Page openFixture(Browser browser, String fixture) {
+        BrowserContext context = browser.newContext(BrowserManager.newContextOptions());
+        context.route("**/*", Route::abort);
+        Page page = context.newPage();
+        page.setContent(readFixture(fixture));
+        return page;
+    }
+
+    private static String readFixture(String fixture) {
+        try (InputStream input = BenchmarkSupport.class.getClassLoader().getResourceAsStream(fixture)) {
+            if (input == null) {
+                throw new IllegalStateException("Benchmark fixture not found: " + fixture);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read benchmark fixture " + fixture, e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import config.ConfigReader;
+import config.TestDataManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration and test data lookups made on every step
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigLookupBenchmark {
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.configure();
+        System.setProperty("test.environment", "dev");
+    }
+
+    @Benchmark
+    public int browserTimeout() {
+        return ConfigReader.getBrowserTimeout();
+    }
+
+    @Benchmark
+    public String property() {
+        return ConfigReader.getProperty("base.url", "");
+    }
+
+    @Benchmark
+    public String adminLoginUrl() {
+        return TestDataManager.URLs.getAdminLoginUrl();
+    }
+
+    @Benchmark
+    public String adminEmail() {
+        return TestDataManager.UserCredentials.getAdminValidEmail();
+    }
+
+    @Benchmark
+    public int elementTimeout() {
+        return TestDataManager.TestConfiguration.getElementTimeout();
+    }
+}
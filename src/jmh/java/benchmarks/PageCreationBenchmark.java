@@ -0,0 +1,54 @@
+package benchmarks;
+
+import com.microsoft.playwright.Page;
+import config.BrowserManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-scenario page lifecycle - BrowserManager.createNewPage followed by closePage
+ * with and without context pre-warming
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PageCreationBenchmark {
+
+    @Param({"true", "false"})
+    public String prewarm;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.configure();
+        System.setProperty("parallel.workers", "1");
+        System.setProperty("context.prewarm.enabled", prewarm);
+        BrowserManager.initializeBrowser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BrowserManager.shutdown();
+    }
+
+    @Benchmark
+    public Page createAndClosePage() {
+        Page page = BrowserManager.createNewPage();
+        BrowserManager.closePage();
+        return page;
+    }
+}
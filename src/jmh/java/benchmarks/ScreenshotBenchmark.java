@@ -0,0 +1,80 @@
+package benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.ScreenshotType;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.ScreenshotUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screenshot capture on the test thread - raw PNG capture against ScreenshotUtils,
+ * which also hashes and queues the frame for background JPEG encoding
+ * Each invocation is a new scenario, so frames are never skipped as duplicates
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class ScreenshotBenchmark {
+    private Playwright playwright;
+    private Browser browser;
+    private Page page;
+    private String testUuid;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.configure();
+        System.setProperty("allure.results.directory", "target/jmh-allure-results");
+        playwright = Playwright.create();
+        browser = BenchmarkSupport.launchBrowser(playwright);
+        page = BenchmarkSupport.openFixture(browser, BenchmarkSupport.ADMIN_DASHBOARD_FIXTURE);
+
+        // Attachments need a running Allure test, as they have in a scenario
+        testUuid = UUID.randomUUID().toString();
+        Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(testUuid).setName("Screenshot benchmark"));
+        Allure.getLifecycle().startTestCase(testUuid);
+    }
+
+    @Setup(Level.Invocation)
+    public void startScenario() {
+        ScreenshotUtils.startScenario();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ScreenshotUtils.drain();
+        Allure.getLifecycle().stopTestCase(testUuid);
+        Allure.getLifecycle().writeTestCase(testUuid);
+        browser.close();
+        playwright.close();
+    }
+
+    @Benchmark
+    public byte[] rawScreenshot() {
+        return page.screenshot(new Page.ScreenshotOptions().setFullPage(true).setType(ScreenshotType.PNG));
+    }
+
+    @Benchmark
+    public void screenshotUtils() {
+        ScreenshotUtils.takeScreenshot(page, "Benchmark");
+    }
+}
@@ -0,0 +1,110 @@
+package benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pages.AdminSideBar;
+import pages.BasePage;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locators for every XPath selector of AdminSideBar on the admin dashboard fixture
+ * Construction is local to the JVM, resolution evaluates each XPath in the browser
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SideBarLocatorBenchmark {
+    private Playwright playwright;
+    private Browser browser;
+    private Page page;
+    private LocatorPage locatorPage;
+    private List<String> selectors;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.configure();
+        playwright = Playwright.create();
+        browser = BenchmarkSupport.launchBrowser(playwright);
+        page = BenchmarkSupport.openFixture(browser, BenchmarkSupport.ADMIN_DASHBOARD_FIXTURE);
+        locatorPage = new LocatorPage(page);
+        selectors = readSideBarSelectors();
+    }
+
+    @TearDown
+    public void tearDown() {
+        browser.close();
+        playwright.close();
+    }
+
+    @Benchmark
+    public void constructRaw(Blackhole blackhole) {
+        for (String selector : selectors) {
+            blackhole.consume(page.locator(selector));
+        }
+    }
+
+    @Benchmark
+    public void constructCached(Blackhole blackhole) {
+        for (String selector : selectors) {
+            blackhole.consume(locatorPage.get(selector));
+        }
+    }
+
+    @Benchmark
+    public void resolve(Blackhole blackhole) {
+        for (String selector : selectors) {
+            blackhole.consume(locatorPage.get(selector).count());
+        }
+    }
+
+    private static List<String> readSideBarSelectors() {
+        List<String> selectors = new ArrayList<>();
+        for (Field field : AdminSideBar.class.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) && field.getType() == String.class && field.getName().endsWith("_TAB")) {
+                try {
+                    field.setAccessible(true);
+                    selectors.add((String) field.get(null));
+                } catch (IllegalAccessException e) {
+                    throw new RuntimeException("Cannot read selector " + field.getName(), e);
+                }
+            }
+        }
+        return selectors;
+    }
+
+    /**
+     * Exposes cached BasePage locators to the benchmark
+     */
+    static final class LocatorPage extends BasePage {
+        LocatorPage(Page page) {
+            super(page);
+        }
+
+        Locator get(String selector) {
+            return locator(selector);
+        }
+    }
+}
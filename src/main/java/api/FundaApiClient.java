@@ -0,0 +1,116 @@
+package api;
+
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.FormData;
+import com.microsoft.playwright.options.RequestOptions;
+import config.ConfigReader;
+import config.HarArchive;
+import config.SessionCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.ActionLatencyRecorder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP client for Background setup
+ * Uses APIRequestContext of a browser context, so cookies set by API calls are seen by the
+ * browser and the other way round - log in over HTTP, then open the page under test
+ */
+public class FundaApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(FundaApiClient.class);
+    private static final Pattern CSRF_META = Pattern.compile("<meta\\s+name=\"csrf-token\"\\s+content=\"([^\"]*)\"");
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_token\"\\s+value=\"([^\"]*)\"");
+    private static final int PAGE_EXPIRED = 419;
+
+    private final APIRequestContext request;
+
+    /**
+     * Creates client sharing cookie jar of context
+     */
+    public FundaApiClient(BrowserContext context) {
+        this.request = context.request();
+    }
+
+    /**
+     * Checks if setup should go through HTTP
+     * HAR runs keep the UI login inside the recorded scenario traffic, so the fast path is bypassed
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.isApiSetupEnabled() && !HarArchive.isEnabled();
+    }
+
+    /**
+     * Logs in as role, session cookie lands in the browser context
+     */
+    public void login(SessionCache.Role role) {
+        login(role.getLoginUrl(), role.getEmail(), role.getPassword());
+    }
+
+    /**
+     * Submits login form over HTTP
+     * Token is read from the login page, a rejected token (419 Page Expired) is fetched again once
+     *
+     * @param loginUrl client or admin login page
+     * @throws RuntimeException if credentials are rejected
+     */
+    public void login(String loginUrl, String email, String password) {
+        long start = System.nanoTime();
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            String csrfToken = fetchCsrfToken(loginUrl);
+            APIResponse response = request.post(loginUrl, RequestOptions.create()
+                    .setForm(FormData.create()
+                            .set("_token", csrfToken)
+                            .set("email", email)
+                            .set("password", password))
+                    .setMaxRedirects(0));
+            try {
+                if (response.status() == PAGE_EXPIRED) {
+                    logger.debug("Login CSRF token expired, fetching a new one");
+                    continue;
+                }
+                String location = response.headers().get("location");
+                if (response.status() / 100 != 3 || location == null || location.contains("/login")) {
+                    throw new RuntimeException("API login as " + email + " failed with status " + response.status());
+                }
+            } finally {
+                response.dispose();
+            }
+            ActionLatencyRecorder.record(FundaApiClient.class, "login",
+                    ActionLatencyRecorder.toUrlTemplate(loginUrl), start);
+            logger.info("Logged in as {} over HTTP", email);
+            return;
+        }
+        throw new RuntimeException("API login as " + email + " rejected CSRF token twice");
+    }
+
+    private String fetchCsrfToken(String url) {
+        String token = readCsrfToken(url);
+        if (token == null) {
+            throw new RuntimeException("No CSRF token found on " + url);
+        }
+        return token;
+    }
+
+    private String readCsrfToken(String url) {
+        APIResponse response = request.get(url);
+        try {
+            if (!response.ok()) {
+                throw new RuntimeException("GET " + url + " failed with status " + response.status());
+            }
+            String html = response.text();
+            for (Pattern pattern : new Pattern[]{CSRF_META, CSRF_INPUT}) {
+                Matcher matcher = pattern.matcher(html);
+                if (matcher.find()) {
+                    return matcher.group(1);
+                }
+            }
+            return null;
+        } finally {
+            response.dispose();
+        }
+    }
+}
@@ -3,24 +3,32 @@ package config;
 import com.microsoft.playwright.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.NavigationMetrics;
 
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Thread-safe singleton browser manager for Playwright automation
  * Manages browser lifecycle with proper resource cleanup
+ * Browsers come from a {@link BrowserPool}, each thread leases one for the lifetime of its page
+ * Every browser engine in use has its own pool, a thread uses browser.type unless {@link #useEngine} selects another
+ * Pool slots connect to the shared {@link BrowserServer} when it is running, otherwise launch their own browser
  */
 public final class BrowserManager {
     private static final Logger log = LoggerFactory.getLogger(BrowserManager.class);
 
-    // Singleton components
-    private static volatile Playwright playwright;
-    private static volatile Browser browser;
+    // Singleton components, one set per engine
+    private static final Map<String, EngineBrowsers> engines = new ConcurrentHashMap<>();
     private static final ReentrantLock initLock = new ReentrantLock();
 
     // Thread-local resources for parallel execution
-    private static final ThreadLocal<BrowserContext> contexts = new ThreadLocal<>();
-    private static final ThreadLocal<Page> pages = new ThreadLocal<>();
+    private static final ThreadLocal<String> selectedEngine = new ThreadLocal<>();
+    private static final ThreadLocal<EngineBrowsers> leasedFrom = new ThreadLocal<>();
+    private static final ThreadLocal<BrowserPool.PooledBrowser> leases = new ThreadLocal<>();
+    private static final ThreadLocal<PreparedContext> contexts = new ThreadLocal<>();
 
 
     private BrowserManager() {
@@ -32,7 +40,8 @@ public final class BrowserManager {
      * Returns null if no page exists for current thread
      */
     public static Page getCurrentPage() {
-        Page page = pages.get();
+        PreparedContext prepared = contexts.get();
+        Page page = prepared != null ? prepared.page : null;
         if (page == null || page.isClosed()) {
             log.warn("Page is null or closed. Returning null.");
             return null;
@@ -44,9 +53,37 @@ public final class BrowserManager {
      * Creates new page for current thread, closing previous if exists
      */
     public static Page createNewPage() {
+        return createNewPage(null);
+    }
+
+    /**
+     * Creates new page for current thread already authenticated as given role
+     * Storage state comes from {@link SessionCache}, null role creates an anonymous page
+     */
+    public static Page createNewPage(SessionCache.Role role) {
         closeCurrentThreadResources();
-        initializeBrowserIfNeeded();
-        return createPageForCurrentThread();
+        return createPageForCurrentThread(initializeBrowserIfNeeded(getEngine()), role);
+    }
+
+    /**
+     * Selects browser engine for pages the current thread creates next (browser matrix run)
+     *
+     * @param engine engine name as in browser.type, null returns the thread to browser.type
+     */
+    public static void useEngine(String engine) {
+        if (engine == null) {
+            selectedEngine.remove();
+        } else {
+            selectedEngine.set(engine.toLowerCase());
+        }
+    }
+
+    /**
+     * Gets browser engine of the current thread's pages
+     */
+    public static String getEngine() {
+        String engine = selectedEngine.get();
+        return engine != null ? engine : ConfigReader.getBrowserType().toLowerCase();
     }
 
     /**
@@ -60,23 +97,54 @@ public final class BrowserManager {
      * Checks if current thread has valid page
      */
     public static boolean hasValidPage() {
-        Page page = pages.get();
-        return page != null && !page.isClosed();
+        PreparedContext prepared = contexts.get();
+        return prepared != null && !prepared.page.isClosed();
     }
 
     /**
-     * Checks if browser is initialized and connected
+     * Gets network routing statistics of current thread's context
+     *
+     * @return statistics or null when routing is disabled
+     */
+    public static NetworkRouter.NetworkStats getNetworkStats() {
+        PreparedContext prepared = contexts.get();
+        return prepared != null ? prepared.networkStats : null;
+    }
+
+    /**
+     * Ends trace chunk of current thread's scenario
+     *
+     * @param keep true to save the trace, false to discard it
+     * @return saved trace file or null
+     */
+    public static Path stopTracing(boolean keep) {
+        PreparedContext prepared = contexts.get();
+        if (prepared == null) {
+            return null;
+        }
+        try {
+            return TraceRecorder.stopChunk(prepared.context, ScenarioContext.get(), keep);
+        } catch (Exception e) {
+            log.warn("Failed to stop trace chunk: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks if browser pool is initialized
      */
     public static boolean isBrowserInitialized() {
-        return playwright != null && browser != null && browser.isConnected();
+        return !engines.isEmpty();
     }
 
     /**
      * Gets browser info for logging/reporting
      */
     public static String getBrowserInfo() {
-        return String.format("Browser: %s, Headless: %s",
-                getBrowserTypeName(), ConfigReader.isBrowserHeadless());
+        String browsers = engines.isEmpty() ? getBrowserTypeName(getEngine())
+                : String.join(", ", engines.keySet().stream().sorted().map(BrowserManager::getBrowserTypeName).toList());
+        return String.format("Browser: %s, Headless: %s, Pool size: %d, Context pre-warm: %s",
+                browsers, ConfigReader.isBrowserHeadless(), ConfigReader.getBrowserPoolSize(), isPrewarmEnabled());
     }
 
     /**
@@ -88,70 +156,160 @@ public final class BrowserManager {
         
         // Close resources for current thread
         closeCurrentThreadResources();
-        
-        if (browser != null) {
-            safeClose("browser", browser::close);
-            browser = null;
-        }
-        
-        if (playwright != null) {
-            safeClose("playwright", playwright::close);
-            playwright = null;
+
+        for (String engine : engines.keySet()) {
+            EngineBrowsers browsers = engines.remove(engine);
+            // Background context work must finish before its browsers go away
+            if (browsers.prewarmer != null) {
+                safeClose(engine + " context pre-warmer", browsers.prewarmer::shutdown);
+            }
+            safeClose(engine + " browser pool", browsers.pool::shutdown);
         }
         
         log.info("Browser manager shutdown completed");
     }
 
+    /**
+     * Creates pool of browsers launched with current settings, for callers managing their own contexts
+     */
+    public static BrowserPool createBrowserPool(int size) {
+        return createBrowserPool(size, getEngine());
+    }
+
+    private static BrowserPool createBrowserPool(int size, String engine) {
+        return new BrowserPool(size, ConfigReader.getBrowserPoolLeaseTimeout(),
+                playwright -> launchBrowser(playwright, engine));
+    }
+
+    /**
+     * Opens anonymous page in a new context of browser with standard options and network routing
+     * Caller owns the context and closes it with page.context().close()
+     */
+    public static Page openPage(Browser browser) {
+        return prepareContext(browser, new ContextSpec(null, ConfigReader.getNetworkProfile())).page;
+    }
+
     // Private helper methods
 
-    private static void initializeBrowserIfNeeded() {
-        if (!isBrowserInitialized()) {
+    private static EngineBrowsers initializeBrowserIfNeeded(String engine) {
+        EngineBrowsers browsers = engines.get(engine);
+        if (browsers == null) {
             initLock.lock();
             try {
-                if (!isBrowserInitialized()) {
-                    initializeBrowser();
+                browsers = engines.get(engine);
+                if (browsers == null) {
+                    browsers = initializeBrowser(engine);
                 }
             } finally {
                 initLock.unlock();
             }
         }
+        return browsers;
     }
 
+    /**
+     * Initializes browser pool of the current engine, an already initialized pool is kept
+     */
     public static void initializeBrowser() {
-        log.info("Initializing browser: {}", getBrowserTypeName());
+        initializeBrowserIfNeeded(getEngine());
+    }
 
-        playwright = Playwright.create();
+    // Must be called with initLock held, a second pool for the engine would leak the first one's browsers
+    private static EngineBrowsers initializeBrowser(String engine) {
+        log.info("Initializing browser pool: {}", getBrowserTypeName(engine));
+
+        BrowserPool pool = createBrowserPool(ConfigReader.getBrowserPoolSize(), engine);
+        ContextPrewarmer prewarmer = isPrewarmEnabled()
+                ? new ContextPrewarmer(pool, ConfigReader.getContextPrewarmDepth()) : null;
+        if (prewarmer != null) {
+            ContextSpec defaultSpec = new ContextSpec(null, ConfigReader.getNetworkProfile());
+            pool.prelaunch(slot -> prewarmer.fill(slot, defaultSpec));
+        } else {
+            pool.prelaunch();
+        }
+        EngineBrowsers browsers = new EngineBrowsers(pool, prewarmer);
+        engines.put(engine, browsers);
+
+        log.info("Browser initialized successfully: {}", getBrowserInfo());
+        return browsers;
+    }
+
+    private static Browser launchBrowser(Playwright playwright, String engine) {
+        String wsEndpoint = BrowserServer.readEndpoint(engine);
+        if (wsEndpoint != null) {
+            try {
+                return getBrowserType(playwright, engine).connect(wsEndpoint, new BrowserType.ConnectOptions()
+                        .setTimeout(ConfigReader.getBrowserTimeout())
+                        .setSlowMo(ConfigReader.getBrowserSlowMo()));
+            } catch (PlaywrightException e) {
+                log.warn("Browser server {} is not reachable, launching local browser: {}", wsEndpoint, e.getMessage());
+            }
+        }
 
         BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
                 .setHeadless(ConfigReader.isBrowserHeadless())
                 .setTimeout(ConfigReader.getBrowserTimeout())
-                .setSlowMo(100);
+                .setSlowMo(ConfigReader.getBrowserSlowMo());
 
-        browser = getBrowserType().launch(options);
-
-        log.info("Browser initialized successfully: {}", getBrowserInfo());
+        return getBrowserType(playwright, engine).launch(options);
     }
 
-    private static Page createPageForCurrentThread() {
+    private static Page createPageForCurrentThread(EngineBrowsers browsers, SessionCache.Role role) {
+        ContextSpec spec = new ContextSpec(role, NetworkRouter.resolveProfileName());
+        BrowserPool.PooledBrowser lease = browsers.pool.lease();
+        leasedFrom.set(browsers);
+        leases.set(lease);
         try {
-            BrowserContext context = browser.newContext(getContextOptions());
-            Page page = context.newPage();
-            page.setDefaultTimeout(ConfigReader.getBrowserTimeout());
-
-            contexts.set(context);
-            pages.set(page);
+            ContextPrewarmer prewarmer = browsers.prewarmer;
+            PreparedContext prepared = prewarmer != null ? prewarmer.take(lease, spec) : null;
+            boolean warm = prepared != null;
+            if (!warm) {
+                prepared = prepareContext(lease.getBrowser(), spec);
+            }
+            contexts.set(prepared);
+            HarArchive.install(prepared.context, ScenarioContext.get());
+            TraceRecorder.startChunk(prepared.context, ScenarioContext.get());
 
-            log.debug("New page created for thread: {}", Thread.currentThread().getId());
-            return page;
+            log.debug("New {} page created for thread: {} on browser slot: {}",
+                    warm ? "pre-warmed" : "cold", Thread.currentThread().getId(), lease.getId());
+            return prepared.page;
 
         } catch (Exception e) {
             log.error("Failed to create page for thread {}: {}",
                     Thread.currentThread().getId(), e.getMessage());
+            closeCurrentThreadResources();
             throw new RuntimeException("Failed to create browser page", e);
         }
     }
 
-    private static Browser.NewContextOptions getContextOptions() {
+    /**
+     * Creates context and page for spec, ready to be handed to a scenario
+     */
+    static PreparedContext prepareContext(Browser browser, ContextSpec spec) {
+        Browser.NewContextOptions options = newContextOptions();
+        if (spec.getRole() != null && SessionCache.isEnabled()) {
+            options.setStorageStatePath(SessionCache.getStorageState(spec.getRole(), browser));
+        }
+        BrowserContext context = browser.newContext(options);
+        try {
+            NetworkRouter.NetworkStats stats = NetworkRouter.install(context, spec.getNetworkProfile());
+            TraceRecorder.start(context);
+            if (ConfigReader.isNavigationMetricsEnabled()) {
+                context.addInitScript(NavigationMetrics.INIT_SCRIPT);
+            }
+            Page page = context.newPage();
+            page.setDefaultTimeout(ConfigReader.getBrowserTimeout());
+            return new PreparedContext(spec, browser, context, page, stats);
+        } catch (RuntimeException e) {
+            safeClose("context", context::close);
+            throw e;
+        }
+    }
+
+    /**
+     * Gets options every test context is created with
+     */
+    public static Browser.NewContextOptions newContextOptions() {
         return new Browser.NewContextOptions()
                 .setViewportSize(1920, 1080)
                 .setLocale("en-US")
@@ -160,24 +318,41 @@ public final class BrowserManager {
     }
 
     private static void closeCurrentThreadResources() {
-        BrowserContext context = contexts.get();
+        PreparedContext prepared = contexts.get();
+        contexts.remove();
+        BrowserPool.PooledBrowser lease = leases.get();
+        leases.remove();
+        EngineBrowsers browsers = leasedFrom.get();
+        leasedFrom.remove();
+
+        BrowserPool pool = browsers != null ? browsers.pool : null;
+        ContextPrewarmer prewarmer = browsers != null ? browsers.prewarmer : null;
+        if (lease != null && pool != null && prewarmer != null) {
+            // Context is closed and the next one prepared off the scenario thread
+            log.debug("Recycling context for thread: {}", Thread.currentThread().getId());
+            prewarmer.recycle(lease, prepared);
+            return;
+        }
 
-        if (context != null) {
+        if (prepared != null) {
             log.debug("Closing context for thread: {}", Thread.currentThread().getId());
-            safeClose("context", context::close);
+            prepared.close();
+        }
+        if (lease != null && pool != null) {
+            pool.release(lease);
         }
+    }
 
-        contexts.remove();
-        pages.remove();
+    // Recorded archives are bound to one context, warm contexts would share none of them
+    private static boolean isPrewarmEnabled() {
+        return ConfigReader.isContextPrewarmEnabled() && !HarArchive.isEnabled();
     }
 
-    private static BrowserType getBrowserType() {
+    private static BrowserType getBrowserType(Playwright playwright, String browserName) {
         if (playwright == null) {
             throw new IllegalStateException("Playwright not initialized");
         }
 
-        String browserName = System.getProperty("browser.type", "chromium").toLowerCase();
-
         switch (browserName) {
             case "firefox": return playwright.firefox();
             case "webkit":
@@ -188,9 +363,7 @@ public final class BrowserManager {
         }
     }
 
-    private static String getBrowserTypeName() {
-        String browserName = System.getProperty("browser.type", "chromium").toLowerCase();
-
+    private static String getBrowserTypeName(String browserName) {
         switch (browserName) {
             case "firefox": return "Firefox";
             case "webkit":
@@ -209,4 +382,53 @@ public final class BrowserManager {
             log.warn("Error closing {}: {}", resourceName, e.getMessage());
         }
     }
+
+    /**
+     * Browser pool of one engine with its context pre-warmer, null when pre-warming is off
+     */
+    private static final class EngineBrowsers {
+        private final BrowserPool pool;
+        private final ContextPrewarmer prewarmer;
+
+        private EngineBrowsers(BrowserPool pool, ContextPrewarmer prewarmer) {
+            this.pool = pool;
+            this.prewarmer = prewarmer;
+        }
+    }
+
+    /**
+     * Context and page created for a {@link ContextSpec}, owned by one scenario at a time
+     */
+    static final class PreparedContext {
+        private final ContextSpec spec;
+        private final Browser browser;
+        private final BrowserContext context;
+        private final Page page;
+        private final NetworkRouter.NetworkStats networkStats;
+
+        private PreparedContext(ContextSpec spec, Browser browser, BrowserContext context, Page page,
+                                NetworkRouter.NetworkStats networkStats) {
+            this.spec = spec;
+            this.browser = browser;
+            this.context = context;
+            this.page = page;
+            this.networkStats = networkStats;
+        }
+
+        ContextSpec getSpec() {
+            return spec;
+        }
+
+        Browser getBrowser() {
+            return browser;
+        }
+
+        Page getPage() {
+            return page;
+        }
+
+        void close() {
+            safeClose("context", context::close);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package config;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Pool of independent Playwright/Browser pairs leased by worker threads
+ * Every slot owns its own Playwright instance and is used by one thread at a time,
+ * a worker gets the same slot back on every lease while it is free (worker affinity)
+ */
+public final class BrowserPool {
+    private static final Logger log = LoggerFactory.getLogger(BrowserPool.class);
+
+    private final int size;
+    private final long leaseTimeoutMillis;
+    private final Function<Playwright, Browser> launcher;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    private final List<PooledBrowser> slots = new ArrayList<>();
+    private final Deque<PooledBrowser> idle = new ArrayDeque<>();
+    private final ThreadLocal<PooledBrowser> affinity = new ThreadLocal<>();
+    private volatile boolean closed;
+
+    /**
+     * @param size maximum number of browser instances
+     * @param leaseTimeoutMillis how long lease() waits for a free slot
+     * @param launcher launches a browser on the given Playwright instance
+     */
+    public BrowserPool(int size, long leaseTimeoutMillis, Function<Playwright, Browser> launcher) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Browser pool size must be positive: " + size);
+        }
+        this.size = size;
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.launcher = launcher;
+    }
+
+    /**
+     * Launches the first slot eagerly so suite setup fails fast on a broken browser install
+     */
+    public void prelaunch() {
+        prelaunch(slot -> { });
+    }
+
+    /**
+     * Launches the first slot eagerly and runs initializer on it before any worker can lease it
+     */
+    public void prelaunch(Consumer<PooledBrowser> initializer) {
+        PooledBrowser slot;
+        lock.lock();
+        try {
+            if (!slots.isEmpty()) {
+                return;
+            }
+            slot = new PooledBrowser(0);
+            slots.add(slot);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            slot.ensureHealthy(launcher);
+            initializer.accept(slot);
+        } finally {
+            returnToIdle(slot);
+        }
+    }
+
+    /**
+     * Leases a healthy browser for exclusive use by the current thread
+     * Prefers the slot this thread used last, then any idle slot, launches a new one while below pool size
+     * and replaces crashed browsers before handing them out
+     */
+    public PooledBrowser lease() {
+        PooledBrowser slot = acquireSlot();
+        try {
+            slot.ensureHealthy(launcher);
+        } catch (RuntimeException e) {
+            returnToIdle(slot);
+            throw e;
+        }
+        affinity.set(slot);
+        log.debug("Browser slot {} leased by thread: {}", slot.id, Thread.currentThread().getId());
+        return slot;
+    }
+
+    /**
+     * Returns leased browser to the pool
+     */
+    public void release(PooledBrowser slot) {
+        if (slot == null) {
+            return;
+        }
+        log.debug("Browser slot {} released by thread: {}", slot.id, Thread.currentThread().getId());
+        if (closed) {
+            slot.close();
+            return;
+        }
+        returnToIdle(slot);
+    }
+
+    /**
+     * Closes every browser in the pool
+     */
+    public void shutdown() {
+        closed = true;
+        List<PooledBrowser> toClose;
+        lock.lock();
+        try {
+            toClose = new ArrayList<>(slots);
+            idle.clear();
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(PooledBrowser::close);
+        affinity.remove();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    private PooledBrowser acquireSlot() {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis);
+        lock.lock();
+        try {
+            while (true) {
+                if (closed) {
+                    throw new IllegalStateException("Browser pool is shut down");
+                }
+                PooledBrowser slot = pickIdleSlot();
+                if (slot != null) {
+                    return slot;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new RuntimeException("No free browser in pool of " + size
+                            + " within " + leaseTimeoutMillis + "ms");
+                }
+                released.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for a free browser", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Must be called with lock held
+    private PooledBrowser pickIdleSlot() {
+        PooledBrowser preferred = affinity.get();
+        if (preferred != null && idle.remove(preferred)) {
+            return preferred;
+        }
+        PooledBrowser free = idle.pollFirst();
+        if (free != null) {
+            return free;
+        }
+        if (slots.size() < size) {
+            PooledBrowser slot = new PooledBrowser(slots.size());
+            slots.add(slot);
+            return slot;
+        }
+        return null;
+    }
+
+    private void returnToIdle(PooledBrowser slot) {
+        lock.lock();
+        try {
+            if (!idle.contains(slot)) {
+                idle.addLast(slot);
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * One pool slot: a Playwright instance with its launched browser
+     */
+    public static final class PooledBrowser {
+        private final int id;
+        private volatile boolean crashed;
+        private Playwright playwright;
+        private Browser browser;
+
+        private PooledBrowser(int id) {
+            this.id = id;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        public Browser getBrowser() {
+            return browser;
+        }
+
+        /**
+         * Checks that browser is launched, connected and has not crashed
+         */
+        public boolean isHealthy() {
+            return browser != null && !crashed && browser.isConnected();
+        }
+
+        private void ensureHealthy(Function<Playwright, Browser> launcher) {
+            if (isHealthy()) {
+                return;
+            }
+            if (playwright != null) {
+                log.warn("Browser slot {} is not healthy - replacing browser", id);
+                close();
+            }
+            log.info("Launching browser for pool slot {}", id);
+            try {
+                playwright = Playwright.create();
+                browser = launcher.apply(playwright);
+                crashed = false;
+                browser.onDisconnected(b -> {
+                    crashed = true;
+                    log.warn("Browser in pool slot {} disconnected", id);
+                });
+            } catch (RuntimeException e) {
+                close();
+                throw new RuntimeException("Failed to launch browser for pool slot " + id, e);
+            }
+        }
+
+        private void close() {
+            if (browser != null) {
+                try {
+                    browser.close();
+                } catch (Exception e) {
+                    log.warn("Error closing browser in slot {}: {}", id, e.getMessage());
+                }
+                browser = null;
+            }
+            if (playwright != null) {
+                try {
+                    playwright.close();
+                } catch (Exception e) {
+                    log.warn("Error closing playwright in slot {}: {}", id, e.getMessage());
+                }
+                playwright = null;
+            }
+        }
+    }
+}
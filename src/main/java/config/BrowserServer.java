@@ -0,0 +1,211 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Local browser server shared by test JVMs (browser.server.enabled=true)
+ * The server is the Playwright driver's launch-server command, its websocket endpoint is written to
+ * browser.server.dir/&lt;engine&gt;.ws, where BrowserManager of every JVM reads it and connects
+ * instead of launching its own browser. Every JVM still creates its own contexts
+ *
+ * Run: mvn test-compile exec:java -Dexec.mainClass=config.BrowserServer -Dexec.classpathScope=test
+ *      -Dbrowser.server.enabled=true [-Dbrowser.matrix=chromium,firefox]
+ */
+public final class BrowserServer {
+    private static final Logger log = LoggerFactory.getLogger(BrowserServer.class);
+    private static final long START_TIMEOUT_SECONDS = 120;
+
+    private final String engine;
+    private final Process process;
+    private final String wsEndpoint;
+
+    private BrowserServer(String engine, Process process, String wsEndpoint) {
+        this.engine = engine;
+        this.process = process;
+        this.wsEndpoint = wsEndpoint;
+    }
+
+    /**
+     * Runs browser servers for browser.type, or for every engine of browser.matrix, until the JVM is stopped
+     */
+    public static void main(String[] args) throws InterruptedException {
+        List<BrowserServer> servers = startAll();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servers.forEach(BrowserServer::stop)));
+        for (BrowserServer server : servers) {
+            server.process.waitFor();
+        }
+    }
+
+    /**
+     * Starts browser servers for browser.type, or for every engine of browser.matrix
+     */
+    public static List<BrowserServer> startAll() {
+        List<String> engines = ConfigReader.getBrowserMatrix().isEmpty()
+                ? List.of(ConfigReader.getBrowserType()) : ConfigReader.getBrowserMatrix();
+        List<BrowserServer> servers = new ArrayList<>();
+        try {
+            for (String engine : engines) {
+                servers.add(start(engine));
+            }
+        } catch (RuntimeException e) {
+            servers.forEach(BrowserServer::stop);
+            throw e;
+        }
+        return servers;
+    }
+
+    /**
+     * Launches browser server for engine and publishes its endpoint
+     */
+    public static BrowserServer start(String engine) {
+        String name = playwrightName(engine);
+        Path endpointFile = endpointFile(name);
+        Process process = null;
+        try {
+            Path config = Files.createTempFile("browser-server-" + name, ".json");
+            config.toFile().deleteOnExit();
+            Files.writeString(config, "{\"headless\": " + ConfigReader.isBrowserHeadless() + "}");
+
+            // Driver CLI in its own JVM, as Playwright's own CLI entry point starts it
+            process = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", classPath(), "com.microsoft.playwright.CLI",
+                    "launch-server", "--browser", name, "--config", config.toString())
+                    .redirectErrorStream(true)
+                    .start();
+            String wsEndpoint = readEndpoint(process);
+
+            Files.createDirectories(endpointFile.getParent());
+            Files.writeString(endpointFile, wsEndpoint);
+            log.info("Browser server for {} listening on {}, endpoint file: {}", name, wsEndpoint, endpointFile);
+            return new BrowserServer(name, process, wsEndpoint);
+        } catch (Exception e) {
+            if (process != null) {
+                destroy(process);
+            }
+            throw new RuntimeException("Failed to start browser server for " + name, e);
+        }
+    }
+
+    /**
+     * Gets endpoint of running browser server for engine
+     *
+     * @return websocket endpoint, null when browser server is disabled or not started
+     */
+    public static String readEndpoint(String engine) {
+        if (!ConfigReader.isBrowserServerEnabled()) {
+            return null;
+        }
+        Path endpointFile = endpointFile(playwrightName(engine));
+        try {
+            return Files.exists(endpointFile) ? Files.readString(endpointFile).trim() : null;
+        } catch (IOException e) {
+            log.warn("Failed to read browser server endpoint {}: {}", endpointFile, e.getMessage());
+            return null;
+        }
+    }
+
+    public String getWsEndpoint() {
+        return wsEndpoint;
+    }
+
+    /**
+     * Stops server with its browser and removes its endpoint file
+     */
+    public void stop() {
+        try {
+            Files.deleteIfExists(endpointFile(engine));
+        } catch (IOException e) {
+            log.warn("Failed to remove browser server endpoint file: {}", e.getMessage());
+        }
+        destroy(process);
+        log.info("Browser server for {} stopped", engine);
+    }
+
+    private static String readEndpoint(Process process) throws Exception {
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        CompletableFuture<String> endpoint = CompletableFuture.supplyAsync(() -> {
+            try {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.trim().startsWith("ws://")) {
+                        return line.trim();
+                    }
+                    log.debug("Browser server: {}", line);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            throw new RuntimeException("Browser server exited without an endpoint");
+        });
+        String wsEndpoint = endpoint.get(START_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // Server output must keep being read, a full pipe would block it
+        Thread drain = new Thread(() -> {
+            try {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    log.debug("Browser server: {}", line);
+                }
+            } catch (IOException e) {
+                log.debug("Browser server output closed: {}", e.getMessage());
+            }
+        }, "browser-server-output");
+        drain.setDaemon(true);
+        drain.start();
+        return wsEndpoint;
+    }
+
+    // Under mvn exec:java the project classpath is in the context class loader, not in java.class.path
+    private static String classPath() {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (!(loader instanceof URLClassLoader)) {
+            return System.getProperty("java.class.path");
+        }
+        List<String> entries = new ArrayList<>();
+        try {
+            for (URL url : ((URLClassLoader) loader).getURLs()) {
+                entries.add(Paths.get(url.toURI()).toString());
+            }
+        } catch (URISyntaxException e) {
+            throw new RuntimeException("Failed to resolve classpath", e);
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // CLI JVM, its driver and the browser all have to go
+    private static void destroy(Process process) {
+        process.descendants().forEach(ProcessHandle::destroy);
+        process.destroy();
+    }
+
+    private static Path endpointFile(String name) {
+        return Paths.get(ConfigReader.getBrowserServerDirectory(), name + ".ws");
+    }
+
+    private static String playwrightName(String engine) {
+        switch (engine.toLowerCase()) {
+            case "firefox": return "firefox";
+            case "webkit":
+            case "safari": return "webkit";
+            default: return "chromium";
+        }
+    }
+}
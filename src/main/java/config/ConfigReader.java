@@ -1,23 +1,24 @@
 package config;
 
+import utils.PerformanceBudget;
+
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
 import java.util.Properties;
 
 /**
  * Configuration reader for main package classes
- * Reads properties from test resources
+ * Settings are resolved once from System properties, environment, config/properties and defaults,
+ * see ResolvedConfig, getters only read the resolved snapshot
  */
 public class ConfigReader {
-    private static Properties properties;
     private static final String CONFIG_FILE = "config/properties";
+    private static final ResolvedConfig config = ResolvedConfig.resolve(loadProperties(), System.getenv(),
+            System.getProperties());
 
-    static {
-        loadProperties();
-    }
-
-    private static void loadProperties() {
-        properties = new Properties();
+    private static Properties loadProperties() {
+        Properties properties = new Properties();
         try (InputStream input = ConfigReader.class.getClassLoader()
                 .getResourceAsStream(CONFIG_FILE)) {
             if (input == null) {
@@ -27,51 +28,271 @@ public class ConfigReader {
         } catch (IOException e) {
             throw new RuntimeException("Failed to load configuration", e);
         }
+        return properties;
+    }
+
+    /**
+     * Gets resolved configuration shared by main and test code
+     */
+    public static ResolvedConfig get() {
+        return config;
     }
 
     public static String getBaseUrl() {
-        return properties.getProperty("base.url");
+        return config.getBaseUrl();
     }
 
     public static boolean isBrowserHeadless() {
-        return Boolean.parseBoolean(properties.getProperty("browser.headless", "false"));
+        return config.isBrowserHeadless();
     }
 
     public static int getBrowserTimeout() {
-        return Integer.parseInt(properties.getProperty("browser.timeout", "10000"));
+        return config.getBrowserTimeout();
     }
 
     public static String getClientTestUserEmail() {
-        return properties.getProperty("test.client.email");
+        return config.getClientEmail();
     }
 
     public static String getClientTestUserPassword() {
-        return properties.getProperty("test.client.password");
+        return config.getClientPassword();
     }
 
     public static String getAdminTestUserEmail() {
-        return properties.getProperty("test.admin.email");
+        return config.getAdminEmail();
     }
 
     public static String getAdminTestUserPassword() {
-        return properties.getProperty("test.admin.password");
+        return config.getAdminPassword();
+    }
+
+    public static String getAutotestParentEmail() {
+        return config.getAutotestParentEmail();
+    }
+
+    public static String getAutotestParentPassword() {
+        return config.getAutotestParentPassword();
     }
     
     public static String getBrowserType() {
-        return properties.getProperty("browser.type", "chromium");
+        return config.getBrowserType();
+    }
+
+    public static List<String> getBrowserMatrix() {
+        return config.getBrowserMatrix();
+    }
+
+    public static boolean isBrowserServerEnabled() {
+        return config.isBrowserServerEnabled();
+    }
+
+    public static String getBrowserServerDirectory() {
+        return config.getBrowserServerDirectory();
     }
     
     public static int getElementTimeout() {
-        String timeout = properties.getProperty("element.timeout");
-        return timeout != null ? Integer.parseInt(timeout) : getBrowserTimeout();
+        return config.getElementTimeout();
     }
     
     public static int getRetryCount() {
-        String retry = properties.getProperty("retry.count");
-        return retry != null ? Integer.parseInt(retry) : 3;
+        return config.getRetryCount();
     }
     
     public static String getEnvironment() {
-        return properties.getProperty("test.environment", "dev");
+        return config.getEnvironment();
+    }
+
+    /**
+     * Gets delay added before every browser action, 0 disables it
+     */
+    public static double getBrowserSlowMo() {
+        return config.getBrowserSlowMo();
+    }
+
+    public static int getParallelWorkers() {
+        return config.getParallelWorkers();
+    }
+
+    public static boolean isLongestFirstOrder() {
+        return config.isLongestFirstOrder();
+    }
+
+    public static String getScenarioDurationsFile() {
+        return config.getScenarioDurationsFile();
+    }
+
+    public static int getShardIndex() {
+        return config.getShardIndex();
+    }
+
+    public static int getShardTotal() {
+        return config.getShardTotal();
+    }
+
+    public static String getShardDurationsSnapshot() {
+        return config.getShardDurationsSnapshot();
+    }
+
+    public static String getImpactBase() {
+        return config.getImpactBase();
+    }
+
+    /**
+     * Gets browser pool size, defaults to one slot per worker plus a spare one for context pre-warming
+     */
+    public static int getBrowserPoolSize() {
+        return config.getBrowserPoolSize();
+    }
+
+    public static long getBrowserPoolLeaseTimeout() {
+        return config.getBrowserPoolLeaseTimeout();
+    }
+
+    public static boolean isSessionCacheEnabled() {
+        return config.isSessionCacheEnabled();
+    }
+
+    public static String getSessionCacheDirectory() {
+        return config.getSessionCacheDirectory();
+    }
+
+    public static long getSessionCacheTtlMinutes() {
+        return config.getSessionCacheTtlMinutes();
+    }
+
+    public static boolean isContextPrewarmEnabled() {
+        return config.isContextPrewarmEnabled();
+    }
+
+    public static int getContextPrewarmDepth() {
+        return config.getContextPrewarmDepth();
+    }
+
+    public static String getNetworkProfile() {
+        return config.getNetworkProfile();
+    }
+
+    /**
+     * Gets directory for performance reports written at suite end
+     */
+    public static String getPerfReportDirectory() {
+        return config.getPerfReportDirectory();
+    }
+
+    public static int getScreenshotWorkers() {
+        return config.getScreenshotWorkers();
+    }
+
+    public static int getScreenshotQueueSize() {
+        return config.getScreenshotQueueSize();
+    }
+
+    public static int getScreenshotMaxWidth() {
+        return config.getScreenshotMaxWidth();
+    }
+
+    public static int getScreenshotThumbnailWidth() {
+        return config.getScreenshotThumbnailWidth();
+    }
+
+    public static float getScreenshotJpegQuality() {
+        return config.getScreenshotJpegQuality();
+    }
+
+    /**
+     * Gets screenshot bytes per scenario after which further screenshots are attached as thumbnails
+     */
+    public static long getScreenshotScenarioMaxBytes() {
+        return config.getScreenshotScenarioMaxBytes();
+    }
+
+    public static TraceRecorder.Mode getTraceMode() {
+        return config.getTraceMode();
+    }
+
+    public static String getTraceDirectory() {
+        return config.getTraceDirectory();
+    }
+
+    public static int getTraceRetainCount() {
+        return config.getTraceRetainCount();
+    }
+
+    public static boolean isNavigationMetricsEnabled() {
+        return config.isNavigationMetricsEnabled();
+    }
+
+    public static PerformanceBudget.Mode getPerformanceBudgetMode() {
+        return config.getPerformanceBudgetMode();
+    }
+
+    /**
+     * Checks if Background logins may go through HTTP instead of the UI
+     */
+    public static boolean isApiSetupEnabled() {
+        return config.isApiSetupEnabled();
+    }
+
+    public static boolean isLogVerbose() {
+        return config.isLogVerbose();
+    }
+
+    public static HarArchive.Mode getHarMode() {
+        return config.getHarMode();
+    }
+
+    public static String getHarDirectory() {
+        return config.getHarDirectory();
+    }
+
+    public static HarArchive.Fallback getHarFallback() {
+        return config.getHarFallback();
+    }
+
+    public static int getStandInPort() {
+        return config.getStandInPort();
+    }
+
+    public static int getStandInThreads() {
+        return config.getStandInThreads();
+    }
+
+    public static long getStandInLatencyMillis(String path) {
+        return config.getStandInLatencyMillis(path);
+    }
+
+    public static long getStandInJitterMillis(String path) {
+        return config.getStandInJitterMillis(path);
+    }
+
+    public static double getStandInErrorRate(String path) {
+        return config.getStandInErrorRate(path);
+    }
+
+    public static int getLoadUsers() {
+        return config.getLoadUsers();
+    }
+
+    public static long getLoadRampUpSeconds() {
+        return config.getLoadRampUpSeconds();
+    }
+
+    public static long getLoadDurationSeconds() {
+        return config.getLoadDurationSeconds();
+    }
+
+    public static long getLoadThinkMillis() {
+        return config.getLoadThinkMillis();
+    }
+
+    public static int getLoadDays() {
+        return config.getLoadDays();
+    }
+
+    /**
+     * Reads resolved value of key, for settings without a typed getter
+     */
+    public static String getProperty(String key, String defaultValue) {
+        return config.getProperty(key, defaultValue);
     }
 }
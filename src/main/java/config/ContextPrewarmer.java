@@ -0,0 +1,140 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a bounded queue of ready contexts and pages per pool slot
+ * Used contexts are closed and replacements prepared in the background while the slot is
+ * still leased, so a Playwright instance is never touched by two threads at once
+ */
+final class ContextPrewarmer {
+    private static final Logger log = LoggerFactory.getLogger(ContextPrewarmer.class);
+
+    private final BrowserPool pool;
+    private final int depth;
+    private final ExecutorService executor;
+    private final Map<Integer, Deque<BrowserManager.PreparedContext>> ready = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    ContextPrewarmer(BrowserPool pool, int depth) {
+        this.pool = pool;
+        this.depth = Math.max(1, depth);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(pool.getSize(), runnable -> {
+            Thread thread = new Thread(runnable, "context-prewarmer-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Takes a ready context matching spec from leased slot
+     *
+     * @return prepared context or null when none is ready
+     */
+    BrowserManager.PreparedContext take(BrowserPool.PooledBrowser lease, ContextSpec spec) {
+        Deque<BrowserManager.PreparedContext> queue = ready.get(lease.getId());
+        if (queue != null) {
+            Iterator<BrowserManager.PreparedContext> iterator = queue.iterator();
+            while (iterator.hasNext()) {
+                BrowserManager.PreparedContext candidate = iterator.next();
+                if (candidate.getSpec().equals(spec) && isUsable(lease, candidate)) {
+                    iterator.remove();
+                    hits.incrementAndGet();
+                    return candidate;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Fills slot queue synchronously, used while the slot is not yet visible to workers
+     */
+    void fill(BrowserPool.PooledBrowser slot, ContextSpec spec) {
+        refill(slot, spec);
+    }
+
+    /**
+     * Closes used context and prepares the next one in the background, then returns slot to pool
+     *
+     * @param lease slot leased by the finishing scenario
+     * @param used context of the finishing scenario, may be null
+     */
+    void recycle(BrowserPool.PooledBrowser lease, BrowserManager.PreparedContext used) {
+        Runnable task = () -> {
+            try {
+                if (used != null) {
+                    used.close();
+                    refill(lease, used.getSpec());
+                }
+            } catch (Exception e) {
+                log.warn("Failed to pre-warm context on browser slot {}: {}", lease.getId(), e.getMessage());
+            } finally {
+                pool.release(lease);
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Waits for background teardown to finish
+     */
+    void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Context pre-warmer did not finish in time");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        ready.values().forEach(queue -> queue.forEach(BrowserManager.PreparedContext::close));
+        ready.clear();
+        log.info("Context pre-warmer stopped: {} warm hits, {} misses", hits.get(), misses.get());
+    }
+
+    private void refill(BrowserPool.PooledBrowser slot, ContextSpec spec) {
+        if (!slot.isHealthy()) {
+            return;
+        }
+        Deque<BrowserManager.PreparedContext> queue = ready.computeIfAbsent(slot.getId(), id -> new ArrayDeque<>());
+        queue.removeIf(entry -> {
+            boolean stale = !entry.getSpec().equals(spec) || !isUsable(slot, entry);
+            if (stale) {
+                entry.close();
+            }
+            return stale;
+        });
+        while (queue.size() < depth) {
+            queue.addLast(BrowserManager.prepareContext(slot.getBrowser(), spec));
+        }
+        log.debug("Browser slot {} has {} warm context(s) for {}", slot.getId(), queue.size(), spec);
+    }
+
+    // Contexts die with the browser, a relaunched slot must not hand out old ones
+    private static boolean isUsable(BrowserPool.PooledBrowser slot, BrowserManager.PreparedContext prepared) {
+        return prepared.getBrowser() == slot.getBrowser() && !prepared.getPage().isClosed();
+    }
+}
@@ -0,0 +1,47 @@
+package config;
+
+import java.util.Objects;
+
+/**
+ * Everything that decides how a browser context is created before a scenario touches it
+ * Two contexts with equal specs are interchangeable, so one can be prepared ahead of time
+ */
+final class ContextSpec {
+    private final SessionCache.Role role;
+    private final String networkProfile;
+
+    ContextSpec(SessionCache.Role role, String networkProfile) {
+        this.role = role;
+        this.networkProfile = networkProfile;
+    }
+
+    SessionCache.Role getRole() {
+        return role;
+    }
+
+    String getNetworkProfile() {
+        return networkProfile;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ContextSpec)) {
+            return false;
+        }
+        ContextSpec that = (ContextSpec) other;
+        return role == that.role && Objects.equals(networkProfile, that.networkProfile);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(role, networkProfile);
+    }
+
+    @Override
+    public String toString() {
+        return "role=" + (role != null ? role : "anonymous") + ", network=" + networkProfile;
+    }
+}
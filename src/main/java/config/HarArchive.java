@@ -0,0 +1,97 @@
+package config;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * HAR record-and-replay for offline, deterministic runs
+ * record - traffic of every scenario is captured into har.dir/<feature>/<line>-<scenario>[-<engine>].har,
+ * the line tells Scenario Outline rows apart and the engine tells browser matrix runs apart
+ * replay - scenarios are served from their archives, unmatched requests follow har.fallback
+ */
+public final class HarArchive {
+    private static final Logger log = LoggerFactory.getLogger(HarArchive.class);
+
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    public enum Fallback {
+        ABORT, PASSTHROUGH
+    }
+
+    private HarArchive() {
+        // Utility class
+    }
+
+    public static Mode getMode() {
+        return ConfigReader.getHarMode();
+    }
+
+    public static boolean isEnabled() {
+        return getMode() != Mode.OFF;
+    }
+
+    /**
+     * Attaches scenario archive to context in record or replay mode
+     *
+     * @param context context created for the scenario
+     * @param scenario scenario the context belongs to
+     */
+    public static void install(BrowserContext context, ScenarioContext scenario) {
+        Mode mode = getMode();
+        if (mode == Mode.OFF || scenario == null) {
+            return;
+        }
+        Path archive = getArchivePath(scenario);
+        if (mode == Mode.RECORD) {
+            record(context, archive);
+        } else {
+            replay(context, archive);
+        }
+    }
+
+    private static void record(BrowserContext context, Path archive) {
+        try {
+            Files.createDirectories(archive.getParent());
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to create HAR directory for " + archive, e);
+        }
+        log.info("Recording HAR archive: {}", archive);
+        // Archive is written when the context is closed
+        context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                .setUpdate(true)
+                .setUpdateMode(HarMode.MINIMAL)
+                .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED));
+    }
+
+    private static void replay(BrowserContext context, Path archive) {
+        Fallback fallback = ConfigReader.getHarFallback();
+        if (!Files.exists(archive)) {
+            if (fallback == Fallback.PASSTHROUGH) {
+                log.warn("No HAR archive {} - scenario uses live network", archive);
+                return;
+            }
+            throw new IllegalStateException("No HAR archive " + archive
+                    + " - record it first with har.mode=record");
+        }
+        log.debug("Replaying HAR archive: {}", archive);
+        context.routeFromHAR(archive, new BrowserContext.RouteFromHAROptions()
+                .setNotFound(fallback == Fallback.ABORT ? HarNotFound.ABORT : HarNotFound.FALLBACK));
+    }
+
+    private static Path getArchivePath(ScenarioContext scenario) {
+        String fileName = scenario.getLine() + "-" + scenario.getName().toLowerCase().replaceAll("[^a-z0-9]+", "-")
+                .replaceAll("(^-|-$)", "") + (scenario.getEngine() != null ? "-" + scenario.getEngine() : "") + ".har";
+        return Paths.get(ConfigReader.getHarDirectory(), scenario.getFeatureName(), fileName);
+    }
+}
@@ -0,0 +1,295 @@
+package config;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Rule engine on top of BrowserContext.route
+ * Blocks or stubs non-essential third-party traffic (analytics, chat widgets, fonts, images)
+ * according to named profiles from config/network-profiles
+ */
+public final class NetworkRouter {
+    private static final Logger log = LoggerFactory.getLogger(NetworkRouter.class);
+    private static final String PROFILES_FILE = "config/network-profiles";
+    private static final String PROFILE_TAG_PREFIX = "@network=";
+    private static final String NO_ROUTING_PROFILE = "none";
+    private static final long DEFAULT_ESTIMATED_BYTES = 5_000;
+
+    private static final Properties profiles = loadProfiles();
+    private static final Map<String, Profile> profileCache = new ConcurrentHashMap<>();
+
+    private NetworkRouter() {
+        // Utility class
+    }
+
+    /**
+     * Gets profile for current scenario: @network=<profile> tag or network.profile setting
+     */
+    public static String resolveProfileName() {
+        String tagProfile = ScenarioContext.getTagValue(PROFILE_TAG_PREFIX);
+        return tagProfile != null ? tagProfile : ConfigReader.getNetworkProfile();
+    }
+
+    /**
+     * Checks if profile is "none" or defined in config/network-profiles by its mode or rule keys
+     * Other keys sharing the prefix, e.g. estimate.bytes.*, do not make a profile
+     */
+    static boolean hasProfile(String profileName) {
+        return NO_ROUTING_PROFILE.equalsIgnoreCase(profileName)
+                || Stream.of(".mode", ".deny", ".allow", ".stub")
+                .anyMatch(suffix -> profiles.containsKey(profileName + suffix));
+    }
+
+    /**
+     * Installs routing rules of the profile on context
+     *
+     * @param context browser context to route
+     * @param profileName profile from config/network-profiles, "none" disables routing
+     * @return statistics collected for the context or null when routing is disabled
+     */
+    public static NetworkStats install(BrowserContext context, String profileName) {
+        if (profileName == null || NO_ROUTING_PROFILE.equalsIgnoreCase(profileName)) {
+            return null;
+        }
+        Profile profile = profileCache.computeIfAbsent(profileName, NetworkRouter::parseProfile);
+        NetworkStats stats = new NetworkStats(profileName);
+        context.onRequest(request -> stats.requests.incrementAndGet());
+        if (profile.needsCatchAll()) {
+            // Allow lists and resource type rules can only be decided by looking at every request
+            context.route("**/*", route -> handle(profile, stats, route));
+        } else {
+            // Only matching URLs are intercepted, other requests keep the HTTP cache and skip the route round trip
+            for (Rule rule : profile.deny) {
+                context.route(rule.urlPattern, route -> block(stats, route));
+            }
+            // Routes registered last run first, so a stub wins over a deny rule as in the catch-all handler
+            for (Rule rule : profile.stub) {
+                context.route(rule.urlPattern, route -> stub(stats, route));
+            }
+        }
+        log.debug("Network profile '{}' installed", profileName);
+        return stats;
+    }
+
+    private static void handle(Profile profile, NetworkStats stats, Route route) {
+        Request request = route.request();
+        String url = request.url();
+        String resourceType = request.resourceType();
+
+        if (matchesAny(profile.stub, url, resourceType)) {
+            stub(stats, route);
+            return;
+        }
+
+        boolean blocked = profile.allowListMode
+                ? !matchesAny(profile.allow, url, resourceType)
+                : matchesAny(profile.deny, url, resourceType);
+        if (blocked) {
+            block(stats, route);
+            return;
+        }
+
+        route.fallback();
+    }
+
+    private static void stub(NetworkStats stats, Route route) {
+        String resourceType = route.request().resourceType();
+        stats.stubbed.incrementAndGet();
+        stats.bytesSaved.addAndGet(estimateBytes(resourceType));
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(200)
+                .setContentType(stubContentType(resourceType))
+                .setBody(""));
+    }
+
+    private static void block(NetworkStats stats, Route route) {
+        String resourceType = route.request().resourceType();
+        stats.blocked.incrementAndGet();
+        stats.bytesSaved.addAndGet(estimateBytes(resourceType));
+        log.trace("Blocked {} request: {}", resourceType, route.request().url());
+        route.abort("blockedbyclient");
+    }
+
+    private static boolean matchesAny(List<Rule> rules, String url, String resourceType) {
+        for (Rule rule : rules) {
+            if (rule.matches(url, resourceType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stubContentType(String resourceType) {
+        switch (resourceType) {
+            case "script": return "application/javascript";
+            case "stylesheet": return "text/css";
+            case "image": return "image/gif";
+            case "xhr":
+            case "fetch": return "application/json";
+            default: return "text/plain";
+        }
+    }
+
+    /**
+     * Blocked responses are never downloaded, so saved bytes are estimated per resource type
+     */
+    private static long estimateBytes(String resourceType) {
+        String estimate = profiles.getProperty("estimate.bytes." + resourceType);
+        return estimate != null ? Long.parseLong(estimate.trim()) : DEFAULT_ESTIMATED_BYTES;
+    }
+
+    private static Profile parseProfile(String name) {
+        if (!hasProfile(name)) {
+            throw new IllegalArgumentException("Unknown network profile: " + name);
+        }
+        String mode = profiles.getProperty(name + ".mode", "deny").trim();
+        return new Profile("allow".equalsIgnoreCase(mode),
+                parseRules(profiles.getProperty(name + ".allow")),
+                parseRules(profiles.getProperty(name + ".deny")),
+                parseRules(profiles.getProperty(name + ".stub")));
+    }
+
+    private static List<Rule> parseRules(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (String pattern : value.split(",")) {
+            if (!pattern.trim().isEmpty()) {
+                rules.add(Rule.parse(pattern.trim()));
+            }
+        }
+        return rules;
+    }
+
+    private static Properties loadProfiles() {
+        Properties properties = new Properties();
+        try (InputStream input = NetworkRouter.class.getClassLoader().getResourceAsStream(PROFILES_FILE)) {
+            if (input == null) {
+                log.warn("Network profiles file {} not found - routing disabled", PROFILES_FILE);
+                return properties;
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load " + PROFILES_FILE, e);
+        }
+        return properties;
+    }
+
+    private static final class Profile {
+        private final boolean allowListMode;
+        private final List<Rule> allow;
+        private final List<Rule> deny;
+        private final List<Rule> stub;
+
+        private Profile(boolean allowListMode, List<Rule> allow, List<Rule> deny, List<Rule> stub) {
+            this.allowListMode = allowListMode;
+            this.allow = allow;
+            this.deny = deny;
+            this.stub = stub;
+        }
+
+        private boolean needsCatchAll() {
+            return allowListMode || deny.stream().anyMatch(Rule::isTypeRule) || stub.stream().anyMatch(Rule::isTypeRule);
+        }
+    }
+
+    /**
+     * URL glob ("*" matches any characters) or "type:<resourceType>" rule
+     */
+    private static final class Rule {
+        private final Pattern urlPattern;
+        private final String resourceType;
+
+        private Rule(Pattern urlPattern, String resourceType) {
+            this.urlPattern = urlPattern;
+            this.resourceType = resourceType;
+        }
+
+        private static Rule parse(String pattern) {
+            if (pattern.startsWith("type:")) {
+                return new Rule(null, pattern.substring("type:".length()));
+            }
+            // Anchored and escaped without \\Q..\\E, the pattern is also matched by the driver as a JavaScript regex
+            StringBuilder regex = new StringBuilder("^");
+            for (char c : pattern.toCharArray()) {
+                if (c == '*') {
+                    regex.append(".*");
+                } else {
+                    if ("\\^$.|?+()[]{}/".indexOf(c) >= 0) {
+                        regex.append('\\');
+                    }
+                    regex.append(c);
+                }
+            }
+            return new Rule(Pattern.compile(regex.append('$').toString()), null);
+        }
+
+        private boolean isTypeRule() {
+            return urlPattern == null;
+        }
+
+        private boolean matches(String url, String type) {
+            return urlPattern != null ? urlPattern.matcher(url).matches() : resourceType.equals(type);
+        }
+    }
+
+    /**
+     * Per-context routing counters
+     */
+    public static final class NetworkStats {
+        private final String profile;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong blocked = new AtomicLong();
+        private final AtomicLong stubbed = new AtomicLong();
+        private final AtomicLong bytesSaved = new AtomicLong();
+
+        private NetworkStats(String profile) {
+            this.profile = profile;
+        }
+
+        public String getProfile() {
+            return profile;
+        }
+
+        /**
+         * Requests that reached the network, counted from context request events since allowed ones are not routed
+         */
+        public long getAllowed() {
+            return Math.max(0, requests.get() - blocked.get() - stubbed.get());
+        }
+
+        public long getBlocked() {
+            return blocked.get();
+        }
+
+        public long getStubbed() {
+            return stubbed.get();
+        }
+
+        public long getEstimatedBytesSaved() {
+            return bytesSaved.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("profile=%s, allowed=%d, blocked=%d, stubbed=%d, estimated bytes saved=%d",
+                    profile, getAllowed(), getBlocked(), getStubbed(), getEstimatedBytesSaved());
+        }
+    }
+}
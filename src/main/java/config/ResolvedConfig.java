@@ -0,0 +1,642 @@
+package config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.PerformanceBudget;
+import utils.ScenarioDurationHistory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Immutable configuration resolved once per JVM
+ * Every setting is taken from the first layer that has it: System property, environment variable
+ * (key upper-cased with dots as underscores, e.g. ELEMENT_TIMEOUT), properties file, default
+ * Values are parsed and validated while resolving, getters only read final fields
+ */
+public final class ResolvedConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ResolvedConfig.class);
+
+    // Environment variable names kept from before the generic KEY_NAME mapping, checked after it
+    private static final Map<String, String> ENV_ALIASES = Map.of(
+            "test.client.email", "TEST_USER_EMAIL",
+            "test.client.password", "TEST_USER_PASSWORD",
+            "test.admin.email", "TEST_USER_EMAIL",
+            "test.admin.password", "TEST_USER_PASSWORD");
+
+    private final Map<String, String> values;
+
+    private final String environment;
+    private final String baseUrl;
+    private final String clientEmail;
+    private final String clientPassword;
+    private final String adminEmail;
+    private final String adminPassword;
+    private final String autotestParentEmail;
+    private final String autotestParentPassword;
+
+    private final String browserType;
+    private final List<String> browserMatrix;
+    private final boolean browserServerEnabled;
+    private final String browserServerDirectory;
+    private final boolean browserHeadless;
+    private final int browserTimeout;
+    private final int elementTimeout;
+    private final double browserSlowMo;
+    private final int retryCount;
+    private final int parallelWorkers;
+    private final ScenarioDurationHistory.Order scenarioOrder;
+    private final String scenarioDurationsFile;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final String shardDurationsSnapshot;
+    private final String impactBase;
+    private final int browserPoolSize;
+    private final long browserPoolLeaseTimeout;
+    private final boolean contextPrewarmEnabled;
+    private final int contextPrewarmDepth;
+
+    private final boolean sessionCacheEnabled;
+    private final String sessionCacheDirectory;
+    private final long sessionCacheTtlMinutes;
+    private final String networkProfile;
+
+    private final String perfReportDirectory;
+    private final boolean navigationMetricsEnabled;
+    private final PerformanceBudget.Mode performanceBudgetMode;
+
+    private final int screenshotWorkers;
+    private final int screenshotQueueSize;
+    private final int screenshotMaxWidth;
+    private final int screenshotThumbnailWidth;
+    private final float screenshotJpegQuality;
+    private final long screenshotScenarioMaxBytes;
+
+    private final TraceRecorder.Mode traceMode;
+    private final String traceDirectory;
+    private final int traceRetainCount;
+
+    private final boolean apiSetupEnabled;
+
+    private final boolean logVerbose;
+
+    private final HarArchive.Mode harMode;
+    private final String harDirectory;
+    private final HarArchive.Fallback harFallback;
+    private final int standInPort;
+    private final int standInThreads;
+    private final long standInLatencyMillis;
+    private final long standInJitterMillis;
+    private final double standInErrorRate;
+    private final Map<String, Long> standInLatencyByPath;
+    private final Map<String, Long> standInJitterByPath;
+    private final Map<String, Double> standInErrorRateByPath;
+
+    private final int loadUsers;
+    private final long loadRampUpSeconds;
+    private final long loadDurationSeconds;
+    private final long loadThinkMillis;
+    private final int loadDays;
+
+    private ResolvedConfig(Resolver resolver) {
+        environment = resolver.string("test.environment", "dev");
+        baseUrl = resolver.string("base.url", null);
+        clientEmail = resolver.string("test.client.email", null);
+        clientPassword = resolver.string("test.client.password", null);
+        adminEmail = resolver.string("test.admin.email", null);
+        adminPassword = resolver.string("test.admin.password", null);
+        autotestParentEmail = resolver.string("autotest.parent.email", null);
+        autotestParentPassword = resolver.string("autotest.parent.password", null);
+
+        browserType = resolver.string("browser.type", "chromium");
+        browserMatrix = resolver.list("browser.matrix");
+        browserServerEnabled = resolver.bool("browser.server.enabled", false);
+        browserServerDirectory = resolver.string("browser.server.dir", "target/browser-server");
+        for (String engine : browserMatrix) {
+            if (!List.of("chromium", "chrome", "firefox", "webkit", "safari").contains(engine)) {
+                resolver.errors.add("browser.matrix has unknown engine '" + engine + "'");
+            }
+        }
+        browserHeadless = resolver.bool("browser.headless", false);
+        browserTimeout = resolver.number("browser.timeout", 10000, Integer::parseInt);
+        elementTimeout = resolver.number("element.timeout", browserTimeout, Integer::parseInt);
+        browserSlowMo = resolver.number("browser.slowmo", 0.0, Double::parseDouble);
+        retryCount = resolver.number("retry.count", 3, Integer::parseInt);
+        parallelWorkers = Math.max(1, resolver.number("parallel.workers", 1, Integer::parseInt));
+        scenarioOrder = resolver.choice("scenario.order", ScenarioDurationHistory.Order.LONGEST_FIRST);
+        scenarioDurationsFile = resolver.string("scenario.durations.file", "target/scenario-durations.properties");
+        shardIndex = resolver.number("shard.index", 0, Integer::parseInt);
+        shardTotal = resolver.number("shard.total", 1, Integer::parseInt);
+        shardDurationsSnapshot = resolver.string("shard.durations.snapshot", "");
+        impactBase = resolver.string("impact.base", "");
+        if (shardTotal < 1 || shardIndex < 0 || shardIndex >= shardTotal) {
+            resolver.errors.add("shard.index=" + shardIndex + " must be from 0 to shard.total-1 (shard.total=" + shardTotal + ")");
+        }
+        contextPrewarmEnabled = resolver.bool("context.prewarm.enabled", true);
+        contextPrewarmDepth = Math.max(1, resolver.number("context.prewarm.depth", 1, Integer::parseInt));
+        // One slot per worker plus a spare one for context pre-warming
+        browserPoolSize = resolver.number("browser.pool.size",
+                parallelWorkers + (contextPrewarmEnabled ? 1 : 0), Integer::parseInt);
+        browserPoolLeaseTimeout = resolver.number("browser.pool.lease.timeout", 120000L, Long::parseLong);
+
+        sessionCacheEnabled = resolver.bool("session.cache.enabled", true);
+        sessionCacheDirectory = resolver.string("session.cache.dir", "target/auth");
+        sessionCacheTtlMinutes = resolver.number("session.cache.ttl.minutes", 60L, Long::parseLong);
+        networkProfile = resolver.string("network.profile", "default");
+        if (!NetworkRouter.hasProfile(networkProfile)) {
+            resolver.errors.add("network.profile=" + networkProfile + " is not in config/network-profiles");
+        }
+
+        perfReportDirectory = resolver.string("perf.report.dir", "target/perf");
+        navigationMetricsEnabled = resolver.bool("perf.navigation.enabled", true);
+        performanceBudgetMode = resolver.choice("performance.budget.mode", PerformanceBudget.Mode.OFF);
+
+        screenshotWorkers = Math.max(1, resolver.number("screenshot.workers", 2, Integer::parseInt));
+        screenshotQueueSize = Math.max(1, resolver.number("screenshot.queue.size", 16, Integer::parseInt));
+        screenshotMaxWidth = resolver.number("screenshot.max.width", 1280, Integer::parseInt);
+        screenshotThumbnailWidth = resolver.number("screenshot.thumbnail.width", 320, Integer::parseInt);
+        screenshotJpegQuality = resolver.number("screenshot.jpeg.quality", 0.7f, Float::parseFloat);
+        screenshotScenarioMaxBytes = resolver.number("screenshot.scenario.max.bytes", 5242880L, Long::parseLong);
+
+        traceMode = resolver.choice("trace.mode", TraceRecorder.Mode.RETAIN_ON_FAILURE);
+        traceDirectory = resolver.string("trace.dir", "target/traces");
+        traceRetainCount = Math.max(1, resolver.number("trace.retain.count", 10, Integer::parseInt));
+
+        apiSetupEnabled = resolver.bool("api.setup.enabled", true);
+
+        logVerbose = resolver.bool("log.verbose", false);
+
+        harMode = resolver.choice("har.mode", HarArchive.Mode.OFF);
+        harDirectory = resolver.string("har.dir", "src/test/resources/har");
+        harFallback = resolver.choice("har.fallback", HarArchive.Fallback.ABORT);
+        standInPort = resolver.number("standin.port", 0, Integer::parseInt);
+        standInThreads = resolver.number("standin.threads", 16, Integer::parseInt);
+        standInLatencyMillis = resolver.number("standin.latency.ms", 0L, Long::parseLong);
+        standInJitterMillis = resolver.number("standin.jitter.ms", 0L, Long::parseLong);
+        standInErrorRate = resolver.number("standin.error.rate", 0.0, Double::parseDouble);
+        standInLatencyByPath = resolver.perPath("standin.latency.ms", Long::parseLong);
+        standInJitterByPath = resolver.perPath("standin.jitter.ms", Long::parseLong);
+        standInErrorRateByPath = resolver.perPath("standin.error.rate", Double::parseDouble);
+        List<Double> errorRates = new ArrayList<>(standInErrorRateByPath.values());
+        errorRates.add(standInErrorRate);
+        if (errorRates.stream().anyMatch(rate -> rate < 0 || rate > 1)) {
+            resolver.errors.add("standin.error.rate must be between 0 and 1");
+        }
+
+        loadUsers = Math.max(1, resolver.number("load.users", 5, Integer::parseInt));
+        loadRampUpSeconds = resolver.number("load.rampup.seconds", 30L, Long::parseLong);
+        loadDurationSeconds = resolver.number("load.duration.seconds", 120L, Long::parseLong);
+        loadThinkMillis = resolver.number("load.think.ms", 1000L, Long::parseLong);
+        loadDays = resolver.number("load.days", 2, Integer::parseInt);
+
+        values = Map.copyOf(resolver.values);
+    }
+
+    /**
+     * Resolves configuration from its layers
+     *
+     * @param file properties file content
+     * @param environment environment variables
+     * @param system System properties
+     * @throws RuntimeException listing every value that cannot be parsed
+     */
+    public static ResolvedConfig resolve(Properties file, Map<String, String> environment, Properties system) {
+        Resolver resolver = new Resolver(file, environment, system);
+        ResolvedConfig config = new ResolvedConfig(resolver);
+        if (!resolver.errors.isEmpty()) {
+            throw new RuntimeException("Invalid configuration: " + String.join("; ", resolver.errors));
+        }
+        logger.info("Configuration resolved for environment '{}'{}", config.environment, resolver.describeOverrides());
+        return config;
+    }
+
+    /**
+     * Gets resolved value of any key, including keys without a typed getter
+     */
+    public String getProperty(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Checks that keys have non-blank values
+     *
+     * @throws RuntimeException listing missing keys
+     */
+    public void requireNonBlank(String... keys) {
+        List<String> missing = new ArrayList<>();
+        for (String key : keys) {
+            String value = values.get(key);
+            if (value == null || value.trim().isEmpty()) {
+                missing.add(key);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new RuntimeException("Required properties are missing: " + String.join(", ", missing));
+        }
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public String getClientEmail() {
+        return clientEmail;
+    }
+
+    public String getClientPassword() {
+        return clientPassword;
+    }
+
+    public String getAdminEmail() {
+        return adminEmail;
+    }
+
+    public String getAdminPassword() {
+        return adminPassword;
+    }
+
+    public String getAutotestParentEmail() {
+        return autotestParentEmail;
+    }
+
+    public String getAutotestParentPassword() {
+        return autotestParentPassword;
+    }
+
+    public String getBrowserType() {
+        return browserType;
+    }
+
+    /**
+     * Gets engines every scenario runs on in one run, empty runs on browser.type only
+     */
+    public List<String> getBrowserMatrix() {
+        return browserMatrix;
+    }
+
+    /**
+     * Checks if browsers are connected from a shared browser server when one is running
+     */
+    public boolean isBrowserServerEnabled() {
+        return browserServerEnabled;
+    }
+
+    public String getBrowserServerDirectory() {
+        return browserServerDirectory;
+    }
+
+    public boolean isBrowserHeadless() {
+        return browserHeadless;
+    }
+
+    public int getBrowserTimeout() {
+        return browserTimeout;
+    }
+
+    public int getElementTimeout() {
+        return elementTimeout;
+    }
+
+    public double getBrowserSlowMo() {
+        return browserSlowMo;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+
+    public int getParallelWorkers() {
+        return parallelWorkers;
+    }
+
+    /**
+     * Checks if scenarios are dispatched longest-first by recorded duration instead of feature order
+     */
+    public boolean isLongestFirstOrder() {
+        return scenarioOrder == ScenarioDurationHistory.Order.LONGEST_FIRST;
+    }
+
+    public String getScenarioDurationsFile() {
+        return scenarioDurationsFile;
+    }
+
+    /**
+     * Gets zero-based shard run by this JVM
+     */
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    /**
+     * Gets number of shards the suite is split into, 1 runs every scenario
+     */
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    /**
+     * Gets duration history copy every shard splits the suite by, empty to use scenario.durations.file
+     */
+    public String getShardDurationsSnapshot() {
+        return shardDurationsSnapshot;
+    }
+
+    /**
+     * Gets git revision changes are compared with to select impacted scenarios, empty runs every scenario
+     */
+    public String getImpactBase() {
+        return impactBase;
+    }
+
+    public int getBrowserPoolSize() {
+        return browserPoolSize;
+    }
+
+    public long getBrowserPoolLeaseTimeout() {
+        return browserPoolLeaseTimeout;
+    }
+
+    public boolean isContextPrewarmEnabled() {
+        return contextPrewarmEnabled;
+    }
+
+    public int getContextPrewarmDepth() {
+        return contextPrewarmDepth;
+    }
+
+    public boolean isSessionCacheEnabled() {
+        return sessionCacheEnabled;
+    }
+
+    public String getSessionCacheDirectory() {
+        return sessionCacheDirectory;
+    }
+
+    public long getSessionCacheTtlMinutes() {
+        return sessionCacheTtlMinutes;
+    }
+
+    public String getNetworkProfile() {
+        return networkProfile;
+    }
+
+    public String getPerfReportDirectory() {
+        return perfReportDirectory;
+    }
+
+    public boolean isNavigationMetricsEnabled() {
+        return navigationMetricsEnabled;
+    }
+
+    public PerformanceBudget.Mode getPerformanceBudgetMode() {
+        return performanceBudgetMode;
+    }
+
+    public int getScreenshotWorkers() {
+        return screenshotWorkers;
+    }
+
+    public int getScreenshotQueueSize() {
+        return screenshotQueueSize;
+    }
+
+    public int getScreenshotMaxWidth() {
+        return screenshotMaxWidth;
+    }
+
+    public int getScreenshotThumbnailWidth() {
+        return screenshotThumbnailWidth;
+    }
+
+    public float getScreenshotJpegQuality() {
+        return screenshotJpegQuality;
+    }
+
+    public long getScreenshotScenarioMaxBytes() {
+        return screenshotScenarioMaxBytes;
+    }
+
+    public TraceRecorder.Mode getTraceMode() {
+        return traceMode;
+    }
+
+    public String getTraceDirectory() {
+        return traceDirectory;
+    }
+
+    public int getTraceRetainCount() {
+        return traceRetainCount;
+    }
+
+    public boolean isApiSetupEnabled() {
+        return apiSetupEnabled;
+    }
+
+    /**
+     * Checks if logs of passed scenarios are written too, not only of failed ones
+     */
+    public boolean isLogVerbose() {
+        return logVerbose;
+    }
+
+    public HarArchive.Mode getHarMode() {
+        return harMode;
+    }
+
+    public String getHarDirectory() {
+        return harDirectory;
+    }
+
+    public HarArchive.Fallback getHarFallback() {
+        return harFallback;
+    }
+
+    public int getStandInPort() {
+        return standInPort;
+    }
+
+    public int getStandInThreads() {
+        return standInThreads;
+    }
+
+    /**
+     * Gets stand-in latency of path, standin.latency.ms.&lt;path&gt; or standin.latency.ms
+     */
+    public long getStandInLatencyMillis(String path) {
+        return standInLatencyByPath.getOrDefault(path, standInLatencyMillis);
+    }
+
+    public long getStandInJitterMillis(String path) {
+        return standInJitterByPath.getOrDefault(path, standInJitterMillis);
+    }
+
+    public double getStandInErrorRate(String path) {
+        return standInErrorRateByPath.getOrDefault(path, standInErrorRate);
+    }
+
+    public int getLoadUsers() {
+        return loadUsers;
+    }
+
+    public long getLoadRampUpSeconds() {
+        return loadRampUpSeconds;
+    }
+
+    public long getLoadDurationSeconds() {
+        return loadDurationSeconds;
+    }
+
+    public long getLoadThinkMillis() {
+        return loadThinkMillis;
+    }
+
+    public int getLoadDays() {
+        return loadDays;
+    }
+
+    /**
+     * Merges layers and parses typed settings, collecting errors instead of failing on the first one
+     */
+    private static final class Resolver {
+        private final Map<String, String> values = new HashMap<>();
+        private final Map<String, String> environment;
+        private final TreeSet<String> fromEnvironment = new TreeSet<>();
+        private final TreeSet<String> fromSystem = new TreeSet<>();
+        private final List<String> errors = new ArrayList<>();
+
+        private Resolver(Properties file, Map<String, String> environment, Properties system) {
+            this.environment = environment;
+            for (String key : file.stringPropertyNames()) {
+                values.put(key, file.getProperty(key));
+            }
+            for (String key : file.stringPropertyNames()) {
+                readEnvironment(key);
+            }
+            ENV_ALIASES.keySet().forEach(this::readEnvironment);
+            for (String key : system.stringPropertyNames()) {
+                if (file.containsKey(key)) {
+                    fromSystem.add(key);
+                }
+                values.put(key, system.getProperty(key));
+            }
+        }
+
+        private String string(String key, String defaultValue) {
+            if (!values.containsKey(key)) {
+                readEnvironment(key);
+            }
+            return values.getOrDefault(key, defaultValue);
+        }
+
+        private List<String> list(String key) {
+            String value = string(key, "");
+            List<String> items = new ArrayList<>();
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty() && !items.contains(item.trim().toLowerCase())) {
+                    items.add(item.trim().toLowerCase());
+                }
+            }
+            return List.copyOf(items);
+        }
+
+        private boolean bool(String key, boolean defaultValue) {
+            String value = string(key, null);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            String trimmed = value.trim();
+            if (!trimmed.equalsIgnoreCase("true") && !trimmed.equalsIgnoreCase("false")) {
+                errors.add(key + "=" + value + " is not true or false");
+                return defaultValue;
+            }
+            return Boolean.parseBoolean(trimmed);
+        }
+
+        private <T> T number(String key, T defaultValue, Function<String, T> parser) {
+            String value = string(key, null);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return parser.apply(value.trim());
+            } catch (NumberFormatException e) {
+                errors.add(key + "=" + value + " is not a number");
+                return defaultValue;
+            }
+        }
+
+        /**
+         * Parses per-path overrides of key, e.g. standin.latency.ms./login
+         *
+         * @return values by path
+         */
+        private <T> Map<String, T> perPath(String key, Function<String, T> parser) {
+            Map<String, T> byPath = new HashMap<>();
+            for (String name : new TreeSet<>(values.keySet())) {
+                if (name.startsWith(key + ".")) {
+                    T value = number(name, null, parser);
+                    if (value != null) {
+                        byPath.put(name.substring(key.length() + 1), value);
+                    }
+                }
+            }
+            return Map.copyOf(byPath);
+        }
+
+        /**
+         * Parses enum setting, case-insensitive with "-" for "_", e.g. "retain-on-failure"
+         */
+        private <E extends Enum<E>> E choice(String key, E defaultValue) {
+            String value = string(key, null);
+            if (value == null || value.trim().isEmpty()) {
+                return defaultValue;
+            }
+            try {
+                return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase().replace('-', '_'));
+            } catch (IllegalArgumentException e) {
+                List<String> options = new ArrayList<>();
+                for (E option : defaultValue.getDeclaringClass().getEnumConstants()) {
+                    options.add(option.name().toLowerCase().replace('_', '-'));
+                }
+                errors.add(key + "=" + value + " is not one of " + options);
+                return defaultValue;
+            }
+        }
+
+        private void readEnvironment(String key) {
+            String value = environment.get(key.toUpperCase().replace('.', '_').replace('-', '_'));
+            if (isBlank(value) && ENV_ALIASES.containsKey(key)) {
+                value = environment.get(ENV_ALIASES.get(key));
+            }
+            if (!isBlank(value)) {
+                values.put(key, value);
+                fromEnvironment.add(key);
+            }
+        }
+
+        // Only keys are logged, values may be credentials
+        private String describeOverrides() {
+            StringBuilder text = new StringBuilder();
+            if (!fromEnvironment.isEmpty()) {
+                text.append(", from environment: ").append(fromEnvironment);
+            }
+            if (!fromSystem.isEmpty()) {
+                text.append(", from System properties: ").append(fromSystem);
+            }
+            return text.toString();
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.trim().isEmpty();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package config;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Metadata of the scenario running on the current thread
+ * Set by hooks before scenario and cleared after it, read by framework code that needs
+ * to know which scenario it is working for (tags, feature, name)
+ */
+public final class ScenarioContext {
+    private static final ThreadLocal<ScenarioContext> current = new ThreadLocal<>();
+
+    private final String id;
+    private final String name;
+    private final URI uri;
+    private final int line;
+    private final String engine;
+    private final Set<String> tags;
+
+    private ScenarioContext(String id, String name, URI uri, int line, String engine, Collection<String> tags) {
+        this.id = id;
+        this.name = name;
+        this.uri = uri;
+        this.line = line;
+        this.engine = engine;
+        this.tags = Collections.unmodifiableSet(new LinkedHashSet<>(tags));
+    }
+
+    /**
+     * Binds scenario to current thread
+     *
+     * @param line line of the scenario, or of its example row in a Scenario Outline
+     * @param engine browser engine of a browser matrix run, null otherwise
+     */
+    public static ScenarioContext start(String id, String name, URI uri, int line, String engine,
+                                        Collection<String> tags) {
+        ScenarioContext context = new ScenarioContext(id, name, uri, line, engine, tags);
+        current.set(context);
+        return context;
+    }
+
+    /**
+     * Gets scenario of current thread
+     *
+     * @return scenario context or null when no scenario is running
+     */
+    public static ScenarioContext get() {
+        return current.get();
+    }
+
+    /**
+     * Unbinds scenario from current thread
+     */
+    public static void clear() {
+        current.remove();
+    }
+
+    /**
+     * Gets value of a key=value tag of the current scenario, e.g. "@network=lean"
+     *
+     * @param tagPrefix tag prefix including "=", e.g. "@network="
+     * @return tag value or null when scenario is missing or has no such tag
+     */
+    public static String getTagValue(String tagPrefix) {
+        ScenarioContext context = current.get();
+        if (context == null) {
+            return null;
+        }
+        return context.tags.stream()
+                .filter(tag -> tag.startsWith(tagPrefix))
+                .map(tag -> tag.substring(tagPrefix.length()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getLine() {
+        return line;
+    }
+
+    /**
+     * Gets browser engine of a browser matrix run, null outside browser matrix
+     */
+    public String getEngine() {
+        return engine;
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * Gets feature file name without extension, e.g. "clientLogin"
+     */
+    public String getFeatureName() {
+        String path = uri.toString();
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        return fileName.endsWith(".feature")
+                ? fileName.substring(0, fileName.length() - ".feature".length())
+                : fileName;
+    }
+}
@@ -0,0 +1,215 @@
+package config;
+
+import api.FundaApiClient;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.ClientLoginPage;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Authenticated session cache
+ * Logs in once per role and persists Playwright storage state to session.cache.dir/&lt;environment&gt;/&lt;role&gt;.json,
+ * contexts created for a role start already authenticated
+ * The login goes over HTTP when the API fast path is enabled and through the login form otherwise
+ */
+public final class SessionCache {
+    private static final Logger log = LoggerFactory.getLogger(SessionCache.class);
+
+    // Refresh a little before the earliest cookie expires so a scenario never starts on a dying session
+    private static final long EXPIRY_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Map<Role, Long> validUntil = new ConcurrentHashMap<>();
+    private static final Map<Role, Object> roleLocks = new ConcurrentHashMap<>();
+
+    /**
+     * User roles with their login entry point
+     */
+    public enum Role {
+        CLIENT(TestDataManager.URLs::getClientLoginUrl, "**/activity/list",
+                TestDataManager.UserCredentials::getClientValidEmail,
+                TestDataManager.UserCredentials::getClientValidPassword),
+        ADMIN(TestDataManager.URLs::getAdminLoginUrl, "**/admin",
+                TestDataManager.UserCredentials::getAdminValidEmail,
+                TestDataManager.UserCredentials::getAdminValidPassword),
+        AUTOTEST_PARENT(TestDataManager.URLs::getClientLoginUrl, "**/activity/list",
+                TestDataManager.UserCredentials::getAutotestParentEmail,
+                TestDataManager.UserCredentials::getAutotestParentPassword);
+
+        private final Supplier<String> loginUrl;
+        private final String landingUrlPattern;
+        private final Supplier<String> email;
+        private final Supplier<String> password;
+
+        Role(Supplier<String> loginUrl, String landingUrlPattern,
+             Supplier<String> email, Supplier<String> password) {
+            this.loginUrl = loginUrl;
+            this.landingUrlPattern = landingUrlPattern;
+            this.email = email;
+            this.password = password;
+        }
+
+        public String getLoginUrl() {
+            return loginUrl.get();
+        }
+
+        public String getEmail() {
+            return email.get();
+        }
+
+        public String getPassword() {
+            return password.get();
+        }
+
+        /**
+         * Resolves role from tag value, e.g. "admin" or "autotest_parent"
+         */
+        public static Role fromTagValue(String value) {
+            return Role.valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    private SessionCache() {
+        // Utility class
+    }
+
+    /**
+     * Checks if cached sessions should be used
+     * HAR runs keep the UI login inside the recorded scenario traffic, so the cache is bypassed
+     */
+    public static boolean isEnabled() {
+        return ConfigReader.isSessionCacheEnabled() && !HarArchive.isEnabled();
+    }
+
+    /**
+     * Gets storage state file for role, logging in first if there is no valid cached session
+     * Only one thread logs in per role, others wait for its result
+     *
+     * @param role user role
+     * @param browser browser used for the login when session has to be refreshed
+     * @return path to Playwright storage state JSON
+     */
+    public static Path getStorageState(Role role, Browser browser) {
+        synchronized (lockOf(role)) {
+            Path stateFile = getStateFile(role);
+            if (isValid(role, stateFile)) {
+                log.debug("Using cached {} session: {}", role, stateFile);
+                return stateFile;
+            }
+            login(role, browser, stateFile);
+            return stateFile;
+        }
+    }
+
+    /**
+     * Drops cached session for role so that next context logs in again
+     * Use when application rejected the cached session
+     */
+    public static void invalidate(Role role) {
+        synchronized (lockOf(role)) {
+            log.info("Invalidating cached {} session", role);
+            validUntil.remove(role);
+            try {
+                Files.deleteIfExists(getStateFile(role));
+            } catch (IOException e) {
+                log.warn("Failed to delete cached {} session: {}", role, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Checks if page was sent back to a login form, which means cached session has expired
+     */
+    public static boolean isRedirectedToLogin(Page page) {
+        return page.url().contains("/login");
+    }
+
+    private static boolean isValid(Role role, Path stateFile) {
+        if (!Files.exists(stateFile)) {
+            return false;
+        }
+        Long cachedExpiry = validUntil.get(role);
+        if (cachedExpiry == null) {
+            cachedExpiry = readExpiry(stateFile);
+            validUntil.put(role, cachedExpiry);
+        }
+        return System.currentTimeMillis() < cachedExpiry;
+    }
+
+    private static void login(Role role, Browser browser, Path stateFile) {
+        log.info("Logging in as {} to refresh cached session", role);
+        try {
+            Files.createDirectories(stateFile.getParent());
+            try (BrowserContext context = browser.newContext(BrowserManager.newContextOptions())) {
+                if (FundaApiClient.isEnabled()) {
+                    new FundaApiClient(context).login(role);
+                } else {
+                    loginThroughUi(role, context);
+                }
+                context.storageState(new BrowserContext.StorageStateOptions().setPath(stateFile));
+            }
+            validUntil.put(role, readExpiry(stateFile));
+            log.info("Cached {} session stored in {}", role, stateFile);
+        } catch (Exception e) {
+            validUntil.remove(role);
+            throw new RuntimeException("Failed to log in as " + role + " for session cache", e);
+        }
+    }
+
+    private static void loginThroughUi(Role role, BrowserContext context) {
+        NetworkRouter.install(context, ConfigReader.getNetworkProfile());
+        Page page = context.newPage();
+        page.setDefaultTimeout(ConfigReader.getBrowserTimeout());
+        page.navigate(role.loginUrl.get());
+        new ClientLoginPage(page).login(role.email.get(), role.password.get());
+        page.waitForURL(role.landingUrlPattern,
+                new Page.WaitForURLOptions().setTimeout(ConfigReader.getElementTimeout()));
+    }
+
+    /**
+     * Session is valid until ttl passes since it was stored or the first persistent cookie expires
+     */
+    private static long readExpiry(Path stateFile) {
+        try {
+            long expiry = Files.getLastModifiedTime(stateFile).toMillis()
+                    + TimeUnit.MINUTES.toMillis(ConfigReader.getSessionCacheTtlMinutes());
+            JsonObject state = JsonParser.parseString(Files.readString(stateFile)).getAsJsonObject();
+            if (state.has("cookies")) {
+                for (JsonElement cookie : state.getAsJsonArray("cookies")) {
+                    double expires = cookie.getAsJsonObject().get("expires").getAsDouble();
+                    if (expires > 0) {
+                        expiry = Math.min(expiry, (long) (expires * 1000) - EXPIRY_MARGIN_MILLIS);
+                    }
+                }
+            }
+            return expiry;
+        } catch (Exception e) {
+            log.warn("Unreadable session state {}: {}", stateFile, e.getMessage());
+            return 0;
+        }
+    }
+
+    // Role constants are public, a lock of their own keeps other code from contending on them
+    private static Object lockOf(Role role) {
+        return roleLocks.computeIfAbsent(role, r -> new Object());
+    }
+
+    // Per environment, a session of one host must not be offered to another after test.environment changes
+    private static Path getStateFile(Role role) {
+        return Paths.get(ConfigReader.getSessionCacheDirectory(), ConfigReader.getEnvironment(),
+                role.name().toLowerCase() + ".json");
+    }
+}
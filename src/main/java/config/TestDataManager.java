@@ -2,6 +2,7 @@ package config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import server.StandInServer;
 
 /**
  * Centralized test data management
@@ -17,95 +18,69 @@ public class TestDataManager {
 
         /**
          * Get valid email for Client's login tests
-         * Priority: Environment variable -> Properties file
+         * Priority: System property -> Environment variable -> Properties file, resolved once
          *
          * @return Valid email address
          */
         public static String getClientValidEmail() {
-            String email = System.getenv("TEST_USER_EMAIL");
-            if (email != null && !email.trim().isEmpty()) {
-                logger.debug("Using email from environment variable");
-                return email;
-            }
-
-            email = ConfigReader.getClientTestUserEmail();
-            if (email != null && !email.trim().isEmpty()) {
-                logger.debug("Using email from properties file");
-                return email;
-            }
-
-            logger.warn("No valid email found in environment or properties");
-            throw new RuntimeException("Valid email not configured. Set TEST_USER_EMAIL environment variable or test.client.email property");
+            return required(ConfigReader.getClientTestUserEmail(),
+                    "Valid email not configured. Set TEST_USER_EMAIL environment variable or test.client.email property");
         }
 
         /**
          * Get valid password for Client's login tests
-         * Priority: Environment variable -> Properties file
+         * Priority: System property -> Environment variable -> Properties file, resolved once
          *
          * @return Valid password
          */
         public static String getClientValidPassword() {
-            String password = System.getenv("TEST_USER_PASSWORD");
-            if (password != null && !password.trim().isEmpty()) {
-                logger.debug("Using password from environment variable");
-                return password;
-            }
-
-            password = ConfigReader.getClientTestUserPassword();
-            if (password != null && !password.trim().isEmpty()) {
-                logger.debug("Using password from properties file");
-                return password;
-            }
-
-            logger.warn("No valid password found in environment or properties");
-            throw new RuntimeException("Valid password not configured. Set TEST_USER_PASSWORD environment variable or test.client.password property");
+            return required(ConfigReader.getClientTestUserPassword(),
+                    "Valid password not configured. Set TEST_USER_PASSWORD environment variable or test.client.password property");
         }
 
         /**
          * Get valid email for Admin's login tests
-         * Priority: Environment variable -> Properties file
+         * Priority: System property -> Environment variable -> Properties file, resolved once
          *
          * @return Valid email address
          */
         public static String getAdminValidEmail() {
-            String email = System.getenv("TEST_USER_EMAIL");
-            if (email != null && !email.trim().isEmpty()) {
-                logger.debug("Using email from environment variable");
-                return email;
-            }
-
-            email = ConfigReader.getAdminTestUserEmail();
-            if (email != null && !email.trim().isEmpty()) {
-                logger.debug("Using email from properties file");
-                return email;
-            }
-
-            logger.warn("No valid email found in environment or properties");
-            throw new RuntimeException("Valid email not configured. Set TEST_USER_EMAIL environment variable or test.client.email property");
+            return required(ConfigReader.getAdminTestUserEmail(),
+                    "Valid email not configured. Set TEST_USER_EMAIL environment variable or test.admin.email property");
         }
 
 
         /**
          * Get valid password for Admin's login tests
-         * Priority: Environment variable -> Properties file
+         * Priority: System property -> Environment variable -> Properties file, resolved once
          *
          * @return Valid password
          */
         public static String getAdminValidPassword() {
-            String password = System.getenv("TEST_USER_PASSWORD");
-            if (password != null && !password.trim().isEmpty()) {
-                logger.debug("Using password from environment variable");
-                return password;
-            }
+            return required(ConfigReader.getAdminTestUserPassword(),
+                    "Valid password not configured. Set TEST_USER_PASSWORD environment variable or test.admin.password property");
+        }
 
-            password = ConfigReader.getAdminTestUserPassword();
-            if (password != null && !password.trim().isEmpty()) {
-                logger.debug("Using password from properties file");
-                return password;
-            }
+        /**
+         * Get email of the autotest parent account used for booking scenarios
+         * Priority: System property -> Environment variable -> Properties file, resolved once
+         *
+         * @return Autotest parent email address
+         */
+        public static String getAutotestParentEmail() {
+            return required(ConfigReader.getAutotestParentEmail(),
+                    "Autotest parent email not configured. Set AUTOTEST_PARENT_EMAIL environment variable or autotest.parent.email property");
+        }
 
-            logger.warn("No valid password found in environment or properties");
-            throw new RuntimeException("Valid password not configured. Set TEST_USER_PASSWORD environment variable or test.client.password property");
+        /**
+         * Get password of the autotest parent account used for booking scenarios
+         * Priority: System property -> Environment variable -> Properties file, resolved once
+         *
+         * @return Autotest parent password
+         */
+        public static String getAutotestParentPassword() {
+            return required(ConfigReader.getAutotestParentPassword(),
+                    "Autotest parent password not configured. Set AUTOTEST_PARENT_PASSWORD environment variable or autotest.parent.password property");
         }
 
         /**
@@ -168,6 +143,13 @@ public class TestDataManager {
                 throw e;
             }
         }
+
+        private static String required(String value, String message) {
+            if (value == null || value.trim().isEmpty()) {
+                throw new RuntimeException(message);
+            }
+            return value;
+        }
     }
 
     /**
@@ -248,6 +230,9 @@ public class TestDataManager {
                 case "production":
                     baseUrl = "https://fundaactive.com";
                     break;
+                case "local":
+                    baseUrl = StandInServer.startShared();
+                    break;
                 case "dev":
                 case "development":
                 default:
@@ -277,6 +262,15 @@ public class TestDataManager {
             return getBaseUrl() + "/admin/login";
         }
 
+        /**
+         * Get Admin's dashboard URL
+         *
+         * @return Admin's dashboard URL
+         */
+        public static String getAdminDashboardUrl() {
+            return getBaseUrl() + "/admin";
+        }
+
         /**
          * Get homepage URL after successful login
          *
@@ -286,6 +280,15 @@ public class TestDataManager {
             return getBaseUrl() + "/activity/list";
         }
 
+        /**
+         * Get cart page URL
+         *
+         * @return Full cart page URL
+         */
+        public static String getCartUrl() {
+            return getBaseUrl() + "/cart";
+        }
+
         /**
          * Get forgot password URL
          *
@@ -306,7 +309,7 @@ public class TestDataManager {
     }
 
     /**
-     * Browser and test configuration data
+     * Browser and test configuration data, read from the configuration resolved by ConfigReader
      */
     public static class TestConfiguration {
 
@@ -316,9 +319,7 @@ public class TestDataManager {
          * @return Environment name
          */
         public static String getEnvironment() {
-            return System.getProperty("test.environment",
-                    System.getenv("TEST_ENVIRONMENT") != null ?
-                            System.getenv("TEST_ENVIRONMENT") : "dev");
+            return ConfigReader.getEnvironment();
         }
 
         /**
@@ -327,9 +328,7 @@ public class TestDataManager {
          * @return Browser type name
          */
         public static String getBrowserType() {
-            return System.getProperty("browser.type",
-                    System.getenv("BROWSER_TYPE") != null ?
-                            System.getenv("BROWSER_TYPE") : "chromium");
+            return ConfigReader.getBrowserType();
         }
 
         /**
@@ -338,13 +337,6 @@ public class TestDataManager {
          * @return true if headless mode
          */
         public static boolean isHeadless() {
-            String headless = System.getProperty("browser.headless",
-                    System.getenv("BROWSER_HEADLESS"));
-
-            if (headless != null) {
-                return Boolean.parseBoolean(headless);
-            }
-
             return ConfigReader.isBrowserHeadless();
         }
 
@@ -354,18 +346,7 @@ public class TestDataManager {
          * @return Timeout value
          */
         public static int getElementTimeout() {
-            String timeout = System.getProperty("element.timeout",
-                    System.getenv("ELEMENT_TIMEOUT"));
-
-            if (timeout != null) {
-                try {
-                    return Integer.parseInt(timeout);
-                } catch (NumberFormatException e) {
-                    logger.warn("Invalid element timeout value '{}', using default", timeout);
-                }
-            }
-
-            return ConfigReader.getBrowserTimeout();
+            return ConfigReader.getElementTimeout();
         }
     }
 
@@ -0,0 +1,127 @@
+package config;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Failure-only Playwright tracing
+ * Tracing runs for the whole life of a context and every scenario records its own chunk,
+ * the chunk is written to trace.dir only when the scenario fails and discarded otherwise
+ * Only the last trace.retain.count trace files are kept on disk
+ */
+public final class TraceRecorder {
+    private static final Logger log = LoggerFactory.getLogger(TraceRecorder.class);
+    private static final Object retentionLock = new Object();
+
+    public enum Mode {
+        OFF, RETAIN_ON_FAILURE
+    }
+
+    private TraceRecorder() {
+        // Utility class
+    }
+
+    public static Mode getMode() {
+        return ConfigReader.getTraceMode();
+    }
+
+    public static boolean isEnabled() {
+        return getMode() != Mode.OFF;
+    }
+
+    /**
+     * Starts tracing on a newly created context
+     * Sources are included only when PLAYWRIGHT_JAVA_SRC points Playwright to them
+     */
+    public static void start(BrowserContext context) {
+        if (!isEnabled()) {
+            return;
+        }
+        context.tracing().start(new Tracing.StartOptions()
+                .setScreenshots(true)
+                .setSnapshots(true)
+                .setSources(System.getenv("PLAYWRIGHT_JAVA_SRC") != null));
+    }
+
+    /**
+     * Starts chunk of scenario, dropping whatever was recorded on the context before it
+     */
+    public static void startChunk(BrowserContext context, ScenarioContext scenario) {
+        if (!isEnabled()) {
+            return;
+        }
+        Tracing.StartChunkOptions options = new Tracing.StartChunkOptions();
+        if (scenario != null) {
+            options.setTitle(scenario.getName());
+        }
+        context.tracing().startChunk(options);
+    }
+
+    /**
+     * Ends scenario chunk
+     *
+     * @param keep true to write the chunk to disk, false to discard it
+     * @return written trace file or null when discarded
+     */
+    public static Path stopChunk(BrowserContext context, ScenarioContext scenario, boolean keep) {
+        if (!isEnabled()) {
+            return null;
+        }
+        if (!keep) {
+            context.tracing().stopChunk();
+            return null;
+        }
+        Path trace = getTracePath(scenario);
+        context.tracing().stopChunk(new Tracing.StopChunkOptions().setPath(trace));
+        log.info("Trace saved: {}", trace);
+        pruneOldTraces();
+        return trace;
+    }
+
+    private static Path getTracePath(ScenarioContext scenario) {
+        String name = scenario != null
+                ? scenario.getName().toLowerCase().replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "")
+                : "scenario";
+        String feature = scenario != null ? scenario.getFeatureName() : "unknown";
+        return Paths.get(ConfigReader.getTraceDirectory(), feature, name + "-" + System.currentTimeMillis() + ".zip");
+    }
+
+    // Ring buffer on disk: oldest traces are removed once there are more than trace.retain.count
+    private static void pruneOldTraces() {
+        int retain = ConfigReader.getTraceRetainCount();
+        Path directory = Paths.get(ConfigReader.getTraceDirectory());
+        synchronized (retentionLock) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                List<Path> traces = files
+                        .filter(file -> file.toString().endsWith(".zip"))
+                        .sorted(Comparator.comparingLong(TraceRecorder::lastModified).reversed())
+                        .collect(Collectors.toList());
+                for (Path old : traces.subList(Math.min(retain, traces.size()), traces.size())) {
+                    Files.deleteIfExists(old);
+                    log.debug("Old trace removed: {}", old);
+                }
+            } catch (IOException e) {
+                log.warn("Failed to prune traces in {}: {}", directory, e.getMessage());
+            }
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -84,7 +84,7 @@ public class AccountBookingsPage extends BasePage{
     public Locator getViewButtonByReference(String referenceNumber) {
         logger.debug("Locating View button for booking reference: {}", referenceNumber);
 
-        Locator label = page.locator("xpath=//label[normalize-space(text())='" + referenceNumber + "']");
+        Locator label = locator("xpath=//label[normalize-space(text())='" + referenceNumber + "']");
         if (!label.isVisible()) {
             throw new RuntimeException("Booking reference not found or not visible: " + referenceNumber);
         }
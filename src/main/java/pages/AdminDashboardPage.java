@@ -9,8 +9,6 @@ import org.slf4j.LoggerFactory;
  */
 public class AdminDashboardPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(AdminDashboardPage.class);
-    // URLs
-    private static final String ADMIN_DASHBOARD_URL = "https://dev-nd.fundaactive.com/admin";
     // Selectors
     private static final String ADMIN_DASHBOARD_TITLE = "//h1[text()='Dashboard']";
     private static final String CUSTOMERS_BUTTON = "//span[text()='Customers']";
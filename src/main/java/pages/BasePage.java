@@ -2,16 +2,49 @@ package pages;
 
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Response;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import config.BrowserManager;
 import config.TestDataManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import utils.ActionLatencyRecorder;
+import utils.NavigationMetrics;
+import utils.PerformanceBudget;
+import utils.ProtocolCallCounter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class BasePage {
     protected final Page page;
     protected static final int DEFAULT_TIMEOUT = 5000;
+    protected static final int DOM_QUIET_PERIOD = 300;
     private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
+    private final Map<String, Locator> locators = new HashMap<>();
+
+    private static final String CART_ITEMS = "//div[@class='p-3 cart_item d-flex']";
+
+    // Counts CSS or XPath matches the same way Playwright resolves "//" selectors
+    private static final String COUNT_ELEMENTS_SCRIPT =
+            "selector => selector.startsWith('//') || selector.startsWith('(')"
+                    + " ? document.evaluate(selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength"
+                    + " : document.querySelectorAll(selector).length";
+
+    // Restarts the quiet period on every DOM mutation
+    private static final String INSTALL_MUTATION_OBSERVER_SCRIPT =
+            "() => {"
+                    + " if (!window.__fundaDomQuiet) {"
+                    + "   const state = { last: performance.now() };"
+                    + "   new MutationObserver(() => { state.last = performance.now(); })"
+                    + "     .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });"
+                    + "   window.__fundaDomQuiet = state;"
+                    + " }"
+                    + " window.__fundaDomQuiet.last = performance.now();"
+                    + "}";
+    private static final String DOM_QUIET_SCRIPT =
+            "quietPeriod => !!window.__fundaDomQuiet && performance.now() - window.__fundaDomQuiet.last >= quietPeriod";
 
 public BasePage(Page page) {
     if (page == null || page.isClosed()) {
@@ -20,136 +53,286 @@ public BasePage(Page page) {
     this.page = page;
 }
 
+    /**
+     * Gets Locator for selector, built once per page object and reused
+     * Building a Locator is local, only actions on it reach the browser
+     */
+    protected Locator locator(String selector) {
+        return locators.computeIfAbsent(selector, page::locator);
+    }
+
+    private String getSelectorName(String selector) {
+        return ActionLatencyRecorder.getSelectorName(getClass(), selector);
+    }
+
+    private void recordLatency(String action, String target, long startNanos) {
+        ActionLatencyRecorder.record(getClass(), action, target, startNanos);
+    }
+
+    /**
+     * Collects timing and Web Vitals of the loaded document, once per document,
+     * and checks them against performance budgets
+     */
+    private void collectNavigationMetrics() {
+        PerformanceBudget.check(NavigationMetrics.collect(page));
+    }
+
     public void waitForElement(String selector) {
         logger.debug("Waiting for element: {}", selector);
+        long start = System.nanoTime();
         try {
-            page.locator(selector).waitFor();
+            ProtocolCallCounter.increment();
+            locator(selector).waitFor();
             logger.debug("Element found: {}", selector);
         } catch (Exception e) {
             logger.error("Failed to wait for element: {}", selector, e);
             throw new RuntimeException("Element not found: " + selector, e);
+        } finally {
+            recordLatency("waitForElement", getSelectorName(selector), start);
         }
     }
 
     public void waitForElement(String selector, int timeout) {
         logger.debug("Waiting for element: {} with timeout: {}ms", selector, timeout);
+        long start = System.nanoTime();
         try {
-            page.locator(selector).waitFor(new Locator.WaitForOptions().setTimeout(timeout));
+            ProtocolCallCounter.increment();
+            locator(selector).waitFor(new Locator.WaitForOptions().setTimeout(timeout));
             logger.debug("Element found: {}", selector);
         } catch (Exception e) {
             logger.error("Failed to wait for element: {} within {}ms", selector, timeout, e);
             throw new RuntimeException("Element not found within timeout: " + selector, e);
+        } finally {
+            recordLatency("waitForElement", getSelectorName(selector), start);
         }
     }
 
     protected boolean isElementVisible(String selector) {
         int timeoutMillis = TestDataManager.TestConfiguration.getElementTimeout();
         logger.debug("Checking visibility of element: {}", selector);
+        long start = System.nanoTime();
         try {
-            Locator locator = page.locator(selector);
-            locator.waitFor(new Locator.WaitForOptions().setTimeout(timeoutMillis));
-            boolean isVisible =
-                    locator.isVisible(new Locator.IsVisibleOptions().setTimeout(timeoutMillis));
-            logger.debug("Element {} visibility: {}", selector, isVisible);
-            return isVisible;
+            // Waiting for the visible state already answers the question
+            ProtocolCallCounter.increment();
+            locator(selector).waitFor(new Locator.WaitForOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(timeoutMillis));
+            logger.debug("Element {} visibility: true", selector);
+            return true;
         } catch (Exception e) {
             logger.error("Failed to check visibility of element: {}", selector, e);
             return false;
+        } finally {
+            recordLatency("isVisible", getSelectorName(selector), start);
         }
     }
 
     protected Locator getElement(String selector) {
         logger.debug("Getting element: {}", selector);
         try {
-            return page.locator(selector);
+            return locator(selector);
         } catch (Exception e) {
             logger.error("Failed to get element: {}", selector, e);
             throw new RuntimeException("Unable to get element: " + selector, e);
         }
     }
 
+    // Actions below auto-wait for actionability, one call per action
+
     protected void clickElement(String selector) {
         logger.debug("Clicking element: {}", selector);
+        long start = System.nanoTime();
         try {
-            waitForElement(selector);
-            page.locator(selector).click();
+            ProtocolCallCounter.increment();
+            locator(selector).click();
             logger.debug("Successfully clicked element: {}", selector);
         } catch (Exception e) {
             logger.error("Failed to click element: {}", selector, e);
             throw new RuntimeException("Unable to click element: " + selector, e);
+        } finally {
+            recordLatency("click", getSelectorName(selector), start);
         }
     }
 
     protected void fillElement(String selector, String text) {
         logger.debug("Filling element: {} with text: {}", selector, text);
+        long start = System.nanoTime();
         try {
-            waitForElement(selector);
-            page.locator(selector).fill(text);
+            ProtocolCallCounter.increment();
+            locator(selector).fill(text);
             logger.debug("Successfully filled element: {}", selector);
         } catch (Exception e) {
             logger.error("Failed to fill element: {}", selector, e);
             throw new RuntimeException("Unable to fill element: " + selector, e);
+        } finally {
+            recordLatency("fill", getSelectorName(selector), start);
         }
     }
 
     protected void fillElementSecure(String selector, String text) {
         logger.debug("Filling element: {} with secure text (masked)", selector);
+        long start = System.nanoTime();
         try {
-            waitForElement(selector);
-            page.locator(selector).fill(text);
+            ProtocolCallCounter.increment();
+            locator(selector).fill(text);
             logger.debug("Successfully filled element with secure text: {}", selector);
         } catch (Exception e) {
             logger.error("Failed to fill element with secure text: {}", selector, e);
             throw new RuntimeException("Unable to fill element with secure text: " + selector, e);
+        } finally {
+            recordLatency("fill", getSelectorName(selector), start);
         }
     }
 
     protected String getElementText(String selector) {
         logger.debug("Getting text from element: {}", selector);
+        long start = System.nanoTime();
         try {
-            waitForElement(selector);
-            String text = page.locator(selector).textContent();
+            ProtocolCallCounter.increment();
+            String text = locator(selector).textContent();
             String result = text != null ? text.trim() : "";
             logger.debug("Element {} text: '{}'", selector, result);
             return result;
         } catch (Exception e) {
             logger.error("Failed to get text from element: {}", selector, e);
             throw new RuntimeException("Unable to get text from element: " + selector, e);
+        } finally {
+            recordLatency("getText", getSelectorName(selector), start);
         }
     }
 
     protected void waitForElementToBeVisible(String selector) {
         logger.debug("Waiting for element to be visible: {}", selector);
+        long start = System.nanoTime();
         try {
-            page.locator(selector).waitFor(new Locator.WaitForOptions()
+            ProtocolCallCounter.increment();
+            locator(selector).waitFor(new Locator.WaitForOptions()
                     .setState(WaitForSelectorState.VISIBLE)
                     .setTimeout(DEFAULT_TIMEOUT));
             logger.debug("Element is now visible: {}", selector);
         } catch (Exception e) {
             logger.error("Element did not become visible: {}", selector, e);
             throw new RuntimeException("Element not visible: " + selector, e);
+        } finally {
+            recordLatency("waitForVisible", getSelectorName(selector), start);
         }
     }
 
     protected void navigateToUrl(String url) {
         logger.info("Navigating to URL: {}", url);
+        long start = System.nanoTime();
         try {
+            ProtocolCallCounter.increment();
             page.navigate(url);
             logger.debug("Successfully navigated to: {}", url);
         } catch (Exception e) {
             logger.error("Failed to navigate to URL: {}", url, e);
             throw new RuntimeException("Unable to navigate to URL: " + url, e);
+        } finally {
+            recordLatency("navigate", ActionLatencyRecorder.toUrlTemplate(url), start);
+        }
+        collectNavigationMetrics();
+    }
+
+    /**
+     * Performs action and waits for the response it triggers
+     *
+     * @param urlPattern glob of the response URL, e.g. "**&#47;cart/add*"
+     * @param action action that triggers the request
+     * @return matched response
+     */
+    protected Response waitForResponse(String urlPattern, Runnable action) {
+        logger.debug("Waiting for response matching: {}", urlPattern);
+        try {
+            ProtocolCallCounter.increment();
+            Response response = page.waitForResponse(urlPattern,
+                    new Page.WaitForResponseOptions().setTimeout(DEFAULT_TIMEOUT), action);
+            logger.debug("Response received: {} {}", response.status(), response.url());
+            return response;
+        } catch (Exception e) {
+            logger.error("No response matching {} within {}ms", urlPattern, DEFAULT_TIMEOUT, e);
+            throw new RuntimeException("Response not received: " + urlPattern, e);
         }
     }
 
+    /**
+     * Waits until the DOM has not changed for quietPeriod milliseconds
+     */
+    protected void waitForDomQuiescence(int quietPeriod) {
+        logger.debug("Waiting for DOM to be quiet for {}ms", quietPeriod);
+        try {
+            ProtocolCallCounter.increment();
+            page.evaluate(INSTALL_MUTATION_OBSERVER_SCRIPT);
+            ProtocolCallCounter.increment();
+            page.waitForFunction(DOM_QUIET_SCRIPT, quietPeriod,
+                    new Page.WaitForFunctionOptions().setTimeout(DEFAULT_TIMEOUT + quietPeriod));
+            logger.debug("DOM is quiet");
+        } catch (Exception e) {
+            logger.error("DOM did not settle within {}ms", DEFAULT_TIMEOUT, e);
+            throw new RuntimeException("DOM did not settle", e);
+        }
+    }
+
+    protected void waitForDomQuiescence() {
+        waitForDomQuiescence(DOM_QUIET_PERIOD);
+    }
+
+    /**
+     * Gets number of elements currently matching selector
+     */
+    protected int getElementCount(String selector) {
+        ProtocolCallCounter.increment();
+        Object count = page.evaluate(COUNT_ELEMENTS_SCRIPT, selector);
+        return ((Number) count).intValue();
+    }
+
+    /**
+     * Waits until number of elements matching selector differs from previousCount
+     *
+     * @return new element count
+     */
+    protected int waitForElementCountChange(String selector, int previousCount) {
+        logger.debug("Waiting for count of {} to change from {}", selector, previousCount);
+        try {
+            ProtocolCallCounter.increment();
+            page.waitForFunction("([selector, previous]) => (" + COUNT_ELEMENTS_SCRIPT + ")(selector) !== previous",
+                    Arrays.asList(selector, previousCount),
+                    new Page.WaitForFunctionOptions().setTimeout(DEFAULT_TIMEOUT));
+            int count = getElementCount(selector);
+            logger.debug("Count of {} changed to {}", selector, count);
+            return count;
+        } catch (Exception e) {
+            logger.error("Count of {} stayed {} for {}ms", selector, previousCount, DEFAULT_TIMEOUT, e);
+            throw new RuntimeException("Element count did not change: " + selector, e);
+        }
+    }
+
+    protected int getCartItemCount() {
+        return getElementCount(CART_ITEMS);
+    }
+
+    /**
+     * Waits until an item is added to or removed from the cart
+     *
+     * @return new number of cart items
+     */
+    protected int waitForCartItemCountChange(int previousCount) {
+        return waitForElementCountChange(CART_ITEMS, previousCount);
+    }
+
     public void waitForPageToLoad() {
         logger.debug("Waiting for page to load");
+        long start = System.nanoTime();
         try {
+            ProtocolCallCounter.increment();
             page.waitForLoadState();
             logger.debug("Page loaded successfully");
         } catch (Exception e) {
             logger.error("Failed to wait for page load", e);
             throw new RuntimeException("Page load timeout", e);
+        } finally {
+            recordLatency("waitForPageToLoad", ActionLatencyRecorder.toUrlTemplate(page.url()), start);
         }
+        collectNavigationMetrics();
     }
 }
\ No newline at end of file
@@ -23,6 +23,6 @@ public class BookingConfirmationPage extends BasePage{
 
     public void clickBookNow() {
         logger.info("Clicking Booking Now button");
-        page.locator(BOOK_NOW_BUTTON).click();
+        clickElement(BOOK_NOW_BUTTON);
     }
 }
\ No newline at end of file
@@ -13,10 +13,9 @@ public class CalendarBookActivityPage extends BasePage {
 
     private static final String CALENDAR_LEFT_ARROW = ".vc-arrow.is-left";
     private static final String CALENDAR_RIGHT_ARROW = ".vc-arrow.is-right";
-    private static final String LIST_BOOKED_DAYS = "//div[@class='p-3 cart_item d-flex']";
 
     // Локатор только дни текущего месяца и доступные (не disabled)
-    private final Locator currentMonthDays= page.locator(
+    private final Locator currentMonthDays= locator(
             "div.vc-day:not(.from-prev-month):not(.from-next-month) span.vc-day-content.vc-focusable:not([aria-disabled='true'])"
     );
 
@@ -33,11 +32,13 @@ public class CalendarBookActivityPage extends BasePage {
 
 
     // Метод выбора первых N доступных дней
+    // Каждый клик добавляет день в корзину, ждём появления нового элемента корзины
     public void selectFirstNDays(int numberOfDays) {
         logger.info("Selecting first {} days", numberOfDays);
+        int bookedDays = getCartItemCount();
         for (int i = 0; i < numberOfDays; i++) {
             currentMonthDays.nth(i).click();
-            page.waitForTimeout(500); // Пауза для наглядности, опционально
+            bookedDays = waitForCartItemCountChange(bookedDays);
         }
     }
 }
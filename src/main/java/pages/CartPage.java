@@ -1,6 +1,7 @@
 package pages;
 
 import com.microsoft.playwright.Page;
+import config.TestDataManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,5 +26,22 @@ public class CartPage extends BasePage {
         super(page);
     }
 
+    public void navigateToCart() {
+        logger.info("Navigating to cart");
+        navigateToUrl(TestDataManager.URLs.getCartUrl());
+    }
+
+    /**
+     * Pays for the cart with the saved card and confirms payment
+     */
+    public void payWithSavedCard() {
+        logger.info("Paying with saved card");
+        clickElement(CREDIT_DEBIT_RADIO_BUTTON);
+        clickElement(ACTUAL_CARD_BUTTON);
+        clickElement(READ_AGREE_CHECKBOX);
+        clickElement(SUBMIT_PAYMENT_BUTTON);
+        clickElement(CONFIRM_PAYMENT_CONTINUE_BUTTON);
+    }
+
 
 }
@@ -12,10 +12,6 @@ import org.slf4j.LoggerFactory;
 public class ClientLoginPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(ClientLoginPage.class);
     
-    // URLs
-    private static final String CLIENT_LOGIN_URL = "https://dev-nd.fundaactive.com/login";
-    private static final String ADMIN_LOGIN_URL = "https://dev-nd.fundaactive.com/admin/login";
-
     // Selectors
     private static final String EMAIL_INPUT = "input[id='email']";
     private static final String PASSWORD_INPUT = "input[id='password']";
@@ -39,7 +35,7 @@ public class ClientLoginPage extends BasePage {
     // Navigation methods
     public void navigateToClientLoginPage() {
         logger.info("Navigating to client login page");
-        navigateToUrl(CLIENT_LOGIN_URL);
+        navigateToUrl(TestDataManager.URLs.getClientLoginUrl());
     }
 
     // Input methods
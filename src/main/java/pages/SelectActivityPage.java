@@ -13,4 +13,10 @@ public class SelectActivityPage extends BasePage{
     public SelectActivityPage(Page page) {
         super(page);
     }
+
+    public void bookAutotestActivity() {
+        logger.info("Booking Autotest activity");
+        clickElement(AUTOTEST_ACTIVITY_BUTTON);
+        clickElement(BOOK_NOW_BUTTON);
+    }
 }
@@ -0,0 +1,354 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import config.ConfigReader;
+import config.TestDataManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-JVM stand-in for the FUNDA web app based on com.sun.net.httpserver
+ * Serves fixture pages for the screens page objects target and injects configurable
+ * latency, jitter and errors per endpoint (test.environment=local)
+ */
+public final class StandInServer {
+    private static final Logger logger = LoggerFactory.getLogger(StandInServer.class);
+    private static final String FIXTURES_DIR = "standin/";
+    private static final String SESSION_COOKIE = "standin_session";
+    private static final String CLIENT_ROLE = "client";
+    private static final String ADMIN_ROLE = "admin";
+
+    private static volatile StandInServer shared;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final String csrfToken = UUID.randomUUID().toString().replace("-", "");
+    private final Map<String, String> fixtureCache = new ConcurrentHashMap<>();
+
+    private StandInServer(int port) throws IOException {
+        httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newFixedThreadPool(ConfigReader.getStandInThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "standin-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        httpServer.setExecutor(executor);
+        httpServer.createContext("/", this::handle);
+    }
+
+    /**
+     * Starts shared stand-in server once per JVM
+     *
+     * @return base URL of the running server, e.g. http://127.0.0.1:54321
+     */
+    public static synchronized String startShared() {
+        if (shared == null) {
+            try {
+                StandInServer server = new StandInServer(ConfigReader.getStandInPort());
+                server.httpServer.start();
+                shared = server;
+                logger.info("Stand-in server started on {}", server.getBaseUrl());
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start stand-in server", e);
+            }
+        }
+        return shared.getBaseUrl();
+    }
+
+    /**
+     * Stops shared stand-in server if it is running
+     */
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.httpServer.stop(0);
+            shared.executor.shutdownNow();
+            shared = null;
+            logger.info("Stand-in server stopped");
+        }
+    }
+
+    public String getBaseUrl() {
+        InetSocketAddress address = httpServer.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        try {
+            EndpointBehaviour behaviour = EndpointBehaviour.forPath(path);
+            behaviour.applyLatency();
+            if (behaviour.shouldFail()) {
+                send(exchange, 500, "text/html", "<h1>Server Error</h1>");
+                return;
+            }
+            route(exchange, path);
+        } catch (Exception e) {
+            logger.error("Stand-in failed to handle {} {}: {}", exchange.getRequestMethod(), path, e.getMessage(), e);
+            send(exchange, 500, "text/plain", "Stand-in error: " + e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String path) throws IOException {
+        boolean post = "POST".equalsIgnoreCase(exchange.getRequestMethod());
+        switch (path) {
+            case "/":
+                redirect(exchange, "/login");
+                break;
+            case "/login":
+                if (post) {
+                    submitLogin(exchange, CLIENT_ROLE, "/login", "/activity/list");
+                } else {
+                    sendLoginPage(exchange, "/login", "", Map.of());
+                }
+                break;
+            case "/admin/login":
+                if (post) {
+                    submitLogin(exchange, ADMIN_ROLE, "/admin/login", "/admin");
+                } else {
+                    sendLoginPage(exchange, "/admin/login", "", Map.of());
+                }
+                break;
+            case "/logout":
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=; Path=/; Max-Age=0");
+                redirect(exchange, "/login");
+                break;
+            case "/activity/list":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "activity-list.html");
+                break;
+            case "/activity/book":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "calendar.html");
+                break;
+            case "/account":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "account.html");
+                break;
+            case "/account/bookings":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "account-bookings.html");
+                break;
+            case "/cart":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "cart.html");
+                break;
+            case "/booking/confirmation":
+                sendProtected(exchange, CLIENT_ROLE, "/login", "booking-confirmation.html");
+                break;
+            case "/admin":
+                sendProtected(exchange, ADMIN_ROLE, "/admin/login", "admin-dashboard.html");
+                break;
+            case "/admin/booking/list":
+                sendProtected(exchange, ADMIN_ROLE, "/admin/login", "admin-bookings.html");
+                break;
+            case "/forgot-password":
+            case "/register":
+                send(exchange, 200, "text/html", "<html><body><h1>" + path.substring(1) + "</h1></body></html>");
+                break;
+            default:
+                send(exchange, 404, "text/html", "<html><body><h1>Not Found</h1></body></html>");
+        }
+    }
+
+    private void submitLogin(HttpExchange exchange, String role, String loginPath, String landingPath)
+            throws IOException {
+        Map<String, String> form = parseForm(exchange);
+        if (!csrfToken.equals(form.get("_token"))) {
+            send(exchange, 419, "text/html", "<html><body><h1>Page Expired</h1></body></html>");
+            return;
+        }
+        String email = form.getOrDefault("email", "").trim();
+        String password = form.getOrDefault("password", "");
+        Map<String, String> errors = validateCredentials(role, email, password);
+        if (!errors.isEmpty()) {
+            sendLoginPage(exchange, loginPath, email, errors);
+            return;
+        }
+        exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + role + "; Path=/; HttpOnly");
+        redirect(exchange, landingPath);
+    }
+
+    /**
+     * Mirrors validation messages of the real application (TestDataManager.ErrorMessages)
+     */
+    private Map<String, String> validateCredentials(String role, String email, String password) {
+        Map<String, String> errors = new HashMap<>();
+        if (email.isEmpty()) {
+            errors.put("emailError", TestDataManager.ErrorMessages.REQUIRED_EMAIL);
+        }
+        if (password.isEmpty()) {
+            errors.put("passwordError", TestDataManager.ErrorMessages.REQUIRED_PASSWORD);
+        }
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+        String expectedPassword = knownAccounts(role).get(email.toLowerCase());
+        if (expectedPassword == null) {
+            errors.put("emailError", TestDataManager.ErrorMessages.INVALID_EMAIL);
+        } else if (!expectedPassword.equals(password)) {
+            errors.put("passwordError", TestDataManager.ErrorMessages.PASSWORD_MISMATCH);
+        }
+        return errors;
+    }
+
+    private Map<String, String> knownAccounts(String role) {
+        Map<String, String> accounts = new HashMap<>();
+        if (ADMIN_ROLE.equals(role)) {
+            accounts.put(TestDataManager.UserCredentials.getAdminValidEmail().toLowerCase(),
+                    TestDataManager.UserCredentials.getAdminValidPassword());
+        } else {
+            accounts.put(TestDataManager.UserCredentials.getClientValidEmail().toLowerCase(),
+                    TestDataManager.UserCredentials.getClientValidPassword());
+            accounts.put(TestDataManager.UserCredentials.getAutotestParentEmail().toLowerCase(),
+                    TestDataManager.UserCredentials.getAutotestParentPassword());
+        }
+        return accounts;
+    }
+
+    private void sendLoginPage(HttpExchange exchange, String action, String email, Map<String, String> errors)
+            throws IOException {
+        Map<String, String> values = new HashMap<>();
+        values.put("action", action);
+        values.put("csrf", csrfToken);
+        values.put("email", escape(email));
+        values.put("emailError", errorSpan(errors.get("emailError")));
+        values.put("passwordError", errorSpan(errors.get("passwordError")));
+        send(exchange, errors.isEmpty() ? 200 : 422, "text/html", render("login.html", values));
+    }
+
+    private void sendProtected(HttpExchange exchange, String role, String loginPath, String fixture)
+            throws IOException {
+        if (!role.equals(getSessionRole(exchange))) {
+            redirect(exchange, loginPath);
+            return;
+        }
+        send(exchange, 200, "text/html", render(fixture, Map.of("csrf", csrfToken)));
+    }
+
+    private String getSessionRole(HttpExchange exchange) {
+        String cookies = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookies == null) {
+            return null;
+        }
+        for (String cookie : cookies.split(";")) {
+            String[] pair = cookie.trim().split("=", 2);
+            if (pair.length == 2 && SESSION_COOKIE.equals(pair[0])) {
+                return pair[1];
+            }
+        }
+        return null;
+    }
+
+    private String render(String fixture, Map<String, String> values) {
+        String template = fixtureCache.computeIfAbsent(fixture, this::loadFixture);
+        for (Map.Entry<String, String> value : values.entrySet()) {
+            template = template.replace("{{" + value.getKey() + "}}", value.getValue());
+        }
+        return template;
+    }
+
+    private String loadFixture(String fixture) {
+        try (InputStream input = StandInServer.class.getClassLoader().getResourceAsStream(FIXTURES_DIR + fixture)) {
+            if (input == null) {
+                throw new IllegalStateException("Stand-in fixture not found: " + FIXTURES_DIR + fixture);
+            }
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read stand-in fixture " + fixture, e);
+        }
+    }
+
+    private static Map<String, String> parseForm(HttpExchange exchange) throws IOException {
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            String[] keyValue = pair.split("=", 2);
+            form.put(URLDecoder.decode(keyValue[0], StandardCharsets.UTF_8),
+                    keyValue.length > 1 ? URLDecoder.decode(keyValue[1], StandardCharsets.UTF_8) : "");
+        }
+        return form;
+    }
+
+    private static String errorSpan(String message) {
+        return message == null ? "" : "<span class=\"invalid-feedback d-block\">" + message + "</span>";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("\"", "&quot;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().add("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Latency, jitter and error rate of one endpoint
+     * standin.latency.ms, standin.jitter.ms and standin.error.rate set defaults,
+     * standin.latency.ms./login style keys override them per path
+     */
+    private static final class EndpointBehaviour {
+        private static final Map<String, EndpointBehaviour> cache = new ConcurrentHashMap<>();
+
+        private final long latencyMillis;
+        private final long jitterMillis;
+        private final double errorRate;
+
+        private EndpointBehaviour(long latencyMillis, long jitterMillis, double errorRate) {
+            this.latencyMillis = latencyMillis;
+            this.jitterMillis = jitterMillis;
+            this.errorRate = errorRate;
+        }
+
+        private static EndpointBehaviour forPath(String path) {
+            return cache.computeIfAbsent(path, key -> new EndpointBehaviour(
+                    ConfigReader.getStandInLatencyMillis(key),
+                    ConfigReader.getStandInJitterMillis(key),
+                    ConfigReader.getStandInErrorRate(key)));
+        }
+
+        private void applyLatency() {
+            long delay = latencyMillis;
+            if (jitterMillis > 0) {
+                delay += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+            }
+            if (delay > 0) {
+                try {
+                    TimeUnit.MILLISECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private boolean shouldFail() {
+            return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+        }
+    }
+}
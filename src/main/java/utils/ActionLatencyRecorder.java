@@ -0,0 +1,196 @@
+package utils;
+
+import com.google.gson.GsonBuilder;
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records latency of page object actions keyed by page class, action and selector constant
+ * Every thread writes to its own histograms, they are merged only when the report is written
+ */
+public final class ActionLatencyRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(ActionLatencyRecorder.class);
+    private static final String REPORT_FILE = "action-latency.json";
+    private static final int SLOWEST_LOGGED = 5;
+
+    // Histogram maps of every thread that recorded something, read at report time
+    private static final Queue<Map<ActionKey, LatencyHistogram>> threadHistograms = new ConcurrentLinkedQueue<>();
+    private static final ThreadLocal<Map<ActionKey, LatencyHistogram>> histograms = ThreadLocal.withInitial(() -> {
+        Map<ActionKey, LatencyHistogram> map = new ConcurrentHashMap<>();
+        threadHistograms.add(map);
+        return map;
+    });
+
+    // Selector value -> constant name for every page class
+    private static final ClassValue<Map<String, String>> selectorNames = new ClassValue<>() {
+        @Override
+        protected Map<String, String> computeValue(Class<?> type) {
+            return collectSelectorNames(type);
+        }
+    };
+
+    private ActionLatencyRecorder() {
+        // Utility class
+    }
+
+    /**
+     * Records time elapsed since startNanos for action of page class
+     *
+     * @param pageClass page object class performing the action
+     * @param action action name, e.g. click
+     * @param target selector constant name or URL template
+     * @param startNanos System.nanoTime() taken before the action
+     */
+    public static void record(Class<?> pageClass, String action, String target, long startNanos) {
+        long micros = (System.nanoTime() - startNanos) / 1_000;
+        histograms.get()
+                .computeIfAbsent(new ActionKey(pageClass.getSimpleName(), action, target), key -> new LatencyHistogram())
+                .record(micros);
+    }
+
+    /**
+     * Gets name of the constant holding selector in page class or its parents
+     *
+     * @return constant name or the selector itself when it is built dynamically
+     */
+    public static String getSelectorName(Class<?> pageClass, String selector) {
+        String name = selectorNames.get(pageClass).get(selector);
+        return name != null ? name : selector;
+    }
+
+    /**
+     * Reduces URL to its path with numeric segments replaced by {id}
+     */
+    public static String toUrlTemplate(String url) {
+        if (url == null) {
+            return "";
+        }
+        String path = url.replaceFirst("^[a-zA-Z]+://[^/]+", "").replaceFirst("[?#].*$", "");
+        path = path.replaceAll("/\\d+(?=/|$)", "/{id}");
+        return path.isEmpty() ? "/" : path;
+    }
+
+    /**
+     * Writes merged histograms as JSON and attaches them to the Allure report
+     * Should be called once at test suite end
+     */
+    public static void writeReport() {
+        Map<ActionKey, LatencyHistogram> merged = new HashMap<>();
+        for (Map<ActionKey, LatencyHistogram> threadMap : threadHistograms) {
+            threadMap.forEach((key, histogram) ->
+                    merged.computeIfAbsent(key, k -> new LatencyHistogram()).merge(histogram));
+        }
+        if (merged.isEmpty()) {
+            logger.debug("No action latencies recorded");
+            return;
+        }
+
+        List<Map<String, Object>> entries = new ArrayList<>();
+        merged.entrySet().stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<ActionKey, LatencyHistogram> entry) -> entry.getValue().getTotalMicros()).reversed())
+                .forEach(entry -> entries.add(toJsonEntry(entry.getKey(), entry.getValue())));
+
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(entries);
+        Path reportFile = Paths.get(ConfigReader.getPerfReportDirectory(), REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, json.getBytes(StandardCharsets.UTF_8));
+            logger.info("Action latency report written: {}", reportFile);
+        } catch (IOException e) {
+            logger.error("Failed to write action latency report {}: {}", reportFile, e.getMessage());
+        }
+        AllureReportUtils.attachToSuite("Action latency", "application/json", "json", json);
+
+        entries.stream().limit(SLOWEST_LOGGED).forEach(entry ->
+                logger.info("Slow action: {}.{} {} - total {}ms, p95 {}ms, count {}",
+                        entry.get("page"), entry.get("action"), entry.get("target"),
+                        entry.get("totalMs"), entry.get("p95Ms"), entry.get("count")));
+    }
+
+    private static Map<String, Object> toJsonEntry(ActionKey key, LatencyHistogram histogram) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("page", key.page);
+        entry.put("action", key.action);
+        entry.put("target", key.target);
+        entry.put("count", histogram.getTotalCount());
+        entry.put("totalMs", toMillis(histogram.getTotalMicros()));
+        entry.put("meanMs", toMillis(Math.round(histogram.getMeanMicros())));
+        entry.put("p50Ms", toMillis(histogram.getValueAtPercentile(50)));
+        entry.put("p95Ms", toMillis(histogram.getValueAtPercentile(95)));
+        entry.put("p99Ms", toMillis(histogram.getValueAtPercentile(99)));
+        entry.put("maxMs", toMillis(histogram.getMaxMicros()));
+        return entry;
+    }
+
+    private static double toMillis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    private static Map<String, String> collectSelectorNames(Class<?> type) {
+        Map<String, String> names = new HashMap<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || field.getType() != String.class) {
+                    continue;
+                }
+                try {
+                    field.setAccessible(true);
+                    names.putIfAbsent((String) field.get(null), field.getName());
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    logger.debug("Cannot read selector constant {}.{}", current.getSimpleName(), field.getName());
+                }
+            }
+        }
+        return names;
+    }
+
+    private static final class ActionKey {
+        private final String page;
+        private final String action;
+        private final String target;
+
+        private ActionKey(String page, String action, String target) {
+            this.page = page;
+            this.action = action;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof ActionKey)) {
+                return false;
+            }
+            ActionKey that = (ActionKey) other;
+            return page.equals(that.page) && action.equals(that.action) && Objects.equals(target, that.target);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, action, target);
+        }
+    }
+}
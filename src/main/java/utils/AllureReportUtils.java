@@ -0,0 +1,63 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.UUID;
+
+/**
+ * Helpers for Allure results that do not belong to a single scenario
+ */
+public final class AllureReportUtils {
+    private static final Logger logger = LoggerFactory.getLogger(AllureReportUtils.class);
+    private static final String SUITE_NAME = "Suite reports";
+
+    private AllureReportUtils() {
+        // Utility class
+    }
+
+    /**
+     * Publishes content as a separate passed result under "Suite reports"
+     * Used at suite end, when there is no running test to attach to
+     *
+     * @param name result and attachment name
+     * @param type MIME type of the content
+     * @param extension attachment file extension
+     * @param content attachment body
+     */
+    public static void attachToSuite(String name, String type, String extension, String content) {
+        try {
+            AllureLifecycle lifecycle = Allure.getLifecycle();
+            String uuid = UUID.randomUUID().toString();
+            String source = uuid + "-attachment." + extension;
+            lifecycle.writeAttachment(source, new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+
+            long now = System.currentTimeMillis();
+            TestResult result = new TestResult()
+                    .setUuid(uuid)
+                    .setHistoryId(UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).toString())
+                    .setName(name)
+                    .setFullName(SUITE_NAME + ": " + name)
+                    .setStatus(Status.PASSED)
+                    .setStart(now)
+                    .setStop(now)
+                    .setLabels(Collections.singletonList(new Label().setName("suite").setValue(SUITE_NAME)))
+                    .setAttachments(Collections.singletonList(
+                            new Attachment().setName(name).setType(type).setSource(source)));
+            lifecycle.scheduleTestCase(result);
+            lifecycle.writeTestCase(uuid);
+            logger.debug("Suite report '{}' attached to Allure", name);
+        } catch (Exception e) {
+            logger.error("Failed to attach suite report '{}': {}", name, e.getMessage());
+        }
+    }
+}
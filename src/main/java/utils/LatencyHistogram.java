@@ -0,0 +1,108 @@
+package utils;
+
+/**
+ * Log-linear latency histogram in the style of HdrHistogram
+ * Values are recorded in microseconds into buckets with about 3% relative precision,
+ * so memory and recording cost stay constant regardless of how many samples arrive
+ * Instances are meant to be written by one thread, use merge() to combine them
+ */
+public final class LatencyHistogram {
+    // 32 linear sub-buckets per power of two above 64
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT + (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF;
+
+    private final long[] counts = new long[BUCKET_COUNT];
+    private long totalCount;
+    private long totalMicros;
+    private long minMicros = Long.MAX_VALUE;
+    private long maxMicros;
+
+    /**
+     * Records one sample, synchronized only to publish it safely to the reporting thread
+     */
+    public synchronized void record(long micros) {
+        long value = Math.max(0, micros);
+        counts[indexOf(value)]++;
+        totalCount++;
+        totalMicros += value;
+        minMicros = Math.min(minMicros, value);
+        maxMicros = Math.max(maxMicros, value);
+    }
+
+    /**
+     * Adds all samples of other histogram to this one
+     */
+    public synchronized void merge(LatencyHistogram other) {
+        synchronized (other) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += other.counts[i];
+            }
+            totalCount += other.totalCount;
+            totalMicros += other.totalMicros;
+            minMicros = Math.min(minMicros, other.minMicros);
+            maxMicros = Math.max(maxMicros, other.maxMicros);
+        }
+    }
+
+    /**
+     * Gets value at percentile, reported as the upper bound of its bucket
+     *
+     * @param percentile 0-100
+     * @return latency in microseconds, 0 when empty
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    public synchronized long getTotalCount() {
+        return totalCount;
+    }
+
+    public synchronized long getTotalMicros() {
+        return totalMicros;
+    }
+
+    public synchronized long getMinMicros() {
+        return totalCount == 0 ? 0 : minMicros;
+    }
+
+    public synchronized long getMaxMicros() {
+        return maxMicros;
+    }
+
+    public synchronized double getMeanMicros() {
+        return totalCount == 0 ? 0 : (double) totalMicros / totalCount;
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (subBucket - SUB_BUCKET_HALF);
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int offset = index - SUB_BUCKET_COUNT;
+        int shift = offset / SUB_BUCKET_HALF + 1;
+        long subBucket = offset % SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
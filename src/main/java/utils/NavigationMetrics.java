@@ -0,0 +1,222 @@
+package utils;
+
+import com.google.gson.GsonBuilder;
+import com.microsoft.playwright.Page;
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Navigation Timing, resource timing and Web Vitals (LCP, CLS) of every page load
+ * An init script observes LCP and CLS from the start of each document, one evaluate call
+ * after the load event reads everything, samples are aggregated per URL template
+ */
+public final class NavigationMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(NavigationMetrics.class);
+    private static final String REPORT_FILE = "navigation-report.json";
+    private static final String[] METRICS = {
+            "ttfbMs", "domContentLoadedMs", "loadMs", "lcpMs", "cls", "resourceCount", "requestCount", "transferBytes"};
+
+    /**
+     * Added to every context, keeps LCP and CLS of the current document in window.__fundaVitals
+     */
+    public static final String INIT_SCRIPT =
+            "(() => {"
+                    + " if (window.__fundaVitals || window !== window.top) return;"
+                    + " const vitals = window.__fundaVitals = { lcp: 0, cls: 0, reported: false };"
+                    + " try {"
+                    + "   new PerformanceObserver(list => {"
+                    + "     const entries = list.getEntries();"
+                    + "     const last = entries[entries.length - 1];"
+                    + "     if (last) vitals.lcp = last.renderTime || last.loadTime || last.startTime;"
+                    + "   }).observe({ type: 'largest-contentful-paint', buffered: true });"
+                    + " } catch (e) { }"
+                    + " try {"
+                    + "   new PerformanceObserver(list => {"
+                    + "     for (const entry of list.getEntries()) if (!entry.hadRecentInput) vitals.cls += entry.value;"
+                    + "   }).observe({ type: 'layout-shift', buffered: true });"
+                    + " } catch (e) { }"
+                    + "})();";
+
+    // Returns null until the load event has finished, with mark=true also after the document was reported
+    private static final String COLLECT_SCRIPT =
+            "mark => {"
+                    + " const vitals = window.__fundaVitals;"
+                    + " const nav = performance.getEntriesByType('navigation')[0];"
+                    + " if (!vitals || !nav || nav.loadEventEnd === 0 || (mark && vitals.reported)) return null;"
+                    + " if (mark) vitals.reported = true;"
+                    + " const resources = performance.getEntriesByType('resource');"
+                    + " return {"
+                    + "   ttfbMs: nav.responseStart - nav.startTime,"
+                    + "   domContentLoadedMs: nav.domContentLoadedEventEnd - nav.startTime,"
+                    + "   loadMs: nav.loadEventEnd - nav.startTime,"
+                    + "   lcpMs: vitals.lcp,"
+                    + "   cls: vitals.cls,"
+                    + "   resourceCount: resources.length,"
+                    + "   requestCount: resources.length + 1,"
+                    + "   transferBytes: (nav.transferSize || 0) + resources.reduce((sum, r) => sum + (r.transferSize || 0), 0)"
+                    + " };"
+                    + "}";
+
+    // URL template -> metric -> samples
+    private static final Map<String, Map<String, List<Double>>> samples = new ConcurrentHashMap<>();
+
+    private NavigationMetrics() {
+        // Utility class
+    }
+
+    /**
+     * Reads metrics of the document loaded in page, once per document
+     *
+     * @return metrics or null when disabled, not loaded yet or already collected
+     */
+    public static Sample collect(Page page) {
+        if (!ConfigReader.isNavigationMetricsEnabled()) {
+            return null;
+        }
+        try {
+            Sample sample = read(page, true);
+            if (sample != null) {
+                record(sample);
+                logger.debug("Navigation metrics for {}: {}", sample.getUrlTemplate(), sample.getMetrics());
+            }
+            return sample;
+        } catch (Exception e) {
+            logger.warn("Failed to collect navigation metrics: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads current metrics of the document loaded in page without adding them to the report
+     * Resources loaded after the load event are included
+     *
+     * @return metrics or null when the document has not finished loading
+     */
+    public static Sample measure(Page page) {
+        return read(page, false);
+    }
+
+    /**
+     * Writes per URL template percentiles as JSON and attaches them to the Allure report
+     * Should be called once at test suite end
+     */
+    public static void writeReport() {
+        if (samples.isEmpty()) {
+            logger.debug("No navigation metrics collected");
+            return;
+        }
+        Map<String, Object> report = new TreeMap<>();
+        samples.forEach((template, metrics) -> {
+            Map<String, Object> templateReport = new LinkedHashMap<>();
+            metrics.forEach((metric, values) -> {
+                List<Double> sorted;
+                synchronized (values) {
+                    sorted = new ArrayList<>(values);
+                }
+                Collections.sort(sorted);
+                templateReport.putIfAbsent("navigations", sorted.size());
+                Map<String, Double> stats = new LinkedHashMap<>();
+                stats.put("p50", percentile(sorted, 50));
+                stats.put("p95", percentile(sorted, 95));
+                stats.put("max", sorted.get(sorted.size() - 1));
+                templateReport.put(metric, stats);
+            });
+            report.put(template, templateReport);
+        });
+
+        String json = new GsonBuilder().setPrettyPrinting().create().toJson(report);
+        Path reportFile = Paths.get(ConfigReader.getPerfReportDirectory(), REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, json.getBytes(StandardCharsets.UTF_8));
+            logger.info("Navigation performance report written: {}", reportFile);
+        } catch (IOException e) {
+            logger.error("Failed to write navigation report {}: {}", reportFile, e.getMessage());
+        }
+        AllureReportUtils.attachToSuite("Navigation timing and Web Vitals", "application/json", "json", json);
+    }
+
+    private static Sample read(Page page, boolean mark) {
+        ProtocolCallCounter.increment();
+        Object result = page.evaluate(COLLECT_SCRIPT, mark);
+        if (!(result instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> values = (Map<?, ?>) result;
+        Map<String, Double> metrics = new LinkedHashMap<>();
+        for (String metric : METRICS) {
+            Object value = values.get(metric);
+            metrics.put(metric, value instanceof Number ? ((Number) value).doubleValue() : 0.0);
+        }
+        return new Sample(ActionLatencyRecorder.toUrlTemplate(page.url()), metrics);
+    }
+
+    private static void record(Sample sample) {
+        Map<String, List<Double>> metrics = samples.computeIfAbsent(sample.getUrlTemplate(), template -> {
+            Map<String, List<Double>> lists = new LinkedHashMap<>();
+            for (String metric : METRICS) {
+                lists.put(metric, new ArrayList<>());
+            }
+            return lists;
+        });
+        sample.getMetrics().forEach((metric, value) -> {
+            List<Double> values = metrics.get(metric);
+            synchronized (values) {
+                values.add(value);
+            }
+        });
+    }
+
+    private static double percentile(List<Double> sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    /**
+     * Metrics of one page load
+     */
+    public static final class Sample {
+        private final String urlTemplate;
+        private final Map<String, Double> metrics;
+
+        private Sample(String urlTemplate, Map<String, Double> metrics) {
+            this.urlTemplate = urlTemplate;
+            this.metrics = Collections.unmodifiableMap(metrics);
+        }
+
+        public String getUrlTemplate() {
+            return urlTemplate;
+        }
+
+        public Map<String, Double> getMetrics() {
+            return metrics;
+        }
+
+        public double getLoadMillis() {
+            return metrics.get("loadMs");
+        }
+
+        public int getRequestCount() {
+            return metrics.get("requestCount").intValue();
+        }
+
+        @Override
+        public String toString() {
+            return urlTemplate + " " + metrics;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package utils;
+
+import config.ConfigReader;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Performance budgets from config/performance-budgets checked against navigation metrics
+ * performance.budget.mode decides what a violation does:
+ * off - nothing, warn - logged and attached, soft - scenario fails when it ends, hard - step fails at once
+ */
+public final class PerformanceBudget {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceBudget.class);
+    private static final String BUDGETS_FILE = "config/performance-budgets";
+
+    public enum Mode {
+        OFF, WARN, SOFT, HARD
+    }
+
+    private static final List<Budget> budgets = loadBudgets();
+    private static final ThreadLocal<List<String>> softViolations = ThreadLocal.withInitial(ArrayList::new);
+
+    private PerformanceBudget() {
+        // Utility class
+    }
+
+    public static Mode getMode() {
+        return ConfigReader.getPerformanceBudgetMode();
+    }
+
+    /**
+     * Checks sample against every budget matching its URL template
+     *
+     * @param sample metrics of a page load, ignored when null
+     * @throws AssertionError on violation in hard mode
+     */
+    public static void check(NavigationMetrics.Sample sample) {
+        Mode mode = getMode();
+        if (mode == Mode.OFF || sample == null) {
+            return;
+        }
+        List<String> violations = findViolations(sample);
+        if (violations.isEmpty()) {
+            return;
+        }
+        String report = describe(sample, violations);
+        logger.warn("Performance budget exceeded:\n{}", report);
+        Allure.addAttachment("Performance budget: " + sample.getUrlTemplate(), "text/plain", report);
+
+        if (mode == Mode.HARD) {
+            throw new AssertionError("Performance budget exceeded on " + sample.getUrlTemplate() + ": " + violations);
+        }
+        if (mode == Mode.SOFT) {
+            softViolations.get().add(sample.getUrlTemplate() + ": " + String.join(", ", violations));
+        }
+    }
+
+    /**
+     * Gets soft violations collected on current thread and clears them
+     */
+    public static List<String> drainSoftViolations() {
+        List<String> violations = new ArrayList<>(softViolations.get());
+        softViolations.remove();
+        return violations;
+    }
+
+    /**
+     * Gets "metric=value > limit" for every budget of sample's URL template that is exceeded
+     */
+    public static List<String> findViolations(NavigationMetrics.Sample sample) {
+        List<String> violations = new ArrayList<>();
+        for (Budget budget : budgets) {
+            if (!budget.urlPattern.matcher(sample.getUrlTemplate()).matches()) {
+                continue;
+            }
+            Double value = sample.getMetrics().get(budget.metric);
+            if (value != null && value > budget.limit) {
+                violations.add(String.format("%s=%s > %s", budget.metric, format(value), format(budget.limit)));
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Formats measured values of sample together with its violations for the report
+     */
+    public static String describe(NavigationMetrics.Sample sample, List<String> violations) {
+        StringBuilder text = new StringBuilder("URL template: ").append(sample.getUrlTemplate()).append('\n');
+        if (!violations.isEmpty()) {
+            text.append("Violations:\n");
+            violations.forEach(violation -> text.append("  ").append(violation).append('\n'));
+        }
+        text.append("Measured:\n");
+        for (Map.Entry<String, Double> metric : sample.getMetrics().entrySet()) {
+            text.append("  ").append(metric.getKey()).append('=').append(format(metric.getValue())).append('\n');
+        }
+        return text.toString();
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format("%.3f", value);
+    }
+
+    private static List<Budget> loadBudgets() {
+        Properties properties = new Properties();
+        try (InputStream input = PerformanceBudget.class.getClassLoader().getResourceAsStream(BUDGETS_FILE)) {
+            if (input == null) {
+                logger.warn("Performance budgets file {} not found - no budgets checked", BUDGETS_FILE);
+                return Collections.emptyList();
+            }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load " + BUDGETS_FILE, e);
+        }
+        List<Budget> loaded = new ArrayList<>();
+        for (String key : properties.stringPropertyNames()) {
+            int separator = key.lastIndexOf('.');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Budget key must be <url pattern>.<metric>: " + key);
+            }
+            loaded.add(new Budget(key.substring(0, separator), key.substring(separator + 1),
+                    Double.parseDouble(properties.getProperty(key).trim())));
+        }
+        return loaded;
+    }
+
+    private static final class Budget {
+        private final Pattern urlPattern;
+        private final String metric;
+        private final double limit;
+
+        private Budget(String urlGlob, String metric, double limit) {
+            String[] parts = urlGlob.split("\\*", -1);
+            StringBuilder regex = new StringBuilder();
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(parts[i]));
+            }
+            this.urlPattern = Pattern.compile(regex.toString());
+            this.metric = metric;
+            this.limit = limit;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package utils;
+
+/**
+ * Counts Playwright calls that go over the driver connection for the current thread
+ * Incremented by page object actions, reset and reported for every scenario by hooks
+ */
+public final class ProtocolCallCounter {
+    private static final ThreadLocal<long[]> calls = ThreadLocal.withInitial(() -> new long[1]);
+
+    private ProtocolCallCounter() {
+        // Utility class
+    }
+
+    /**
+     * Records one call made by current thread
+     */
+    public static void increment() {
+        calls.get()[0]++;
+    }
+
+    /**
+     * Gets number of calls made by current thread since last reset
+     */
+    public static long get() {
+        return calls.get()[0];
+    }
+
+    public static void reset() {
+        calls.get()[0] = 0;
+    }
+}
@@ -0,0 +1,194 @@
+package utils;
+
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Wall-clock duration of every scenario, kept between runs in scenario.durations.file
+ * Scenarios are keyed by feature file name and line, e.g. grandTotalCalculation.feature:15,
+ * stored durations are smoothed over runs so one slow run does not reorder the suite
+ */
+public final class ScenarioDurationHistory {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioDurationHistory.class);
+    private static final double SMOOTHING = 0.5;
+
+    private static final Map<String, Long> measured = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+
+    /**
+     * Order scenarios are dispatched in, scenario.order
+     */
+    public enum Order {
+        FEATURE, LONGEST_FIRST
+    }
+
+    private ScenarioDurationHistory() {
+        // Utility class
+    }
+
+    /**
+     * Gets history key of scenario at line of feature file
+     */
+    public static String key(URI featureUri, int line) {
+        return key(featureUri, line, null);
+    }
+
+    /**
+     * Gets history key of scenario run on one engine of the browser matrix, e.g. clientLogin.feature:11@firefox
+     *
+     * @param engine browser engine, null for a run without browser matrix
+     */
+    public static String key(URI featureUri, int line, String engine) {
+        String path = featureUri.toString();
+        String key = path.substring(path.lastIndexOf('/') + 1) + ":" + line;
+        return engine == null ? key : key + "@" + engine;
+    }
+
+    /**
+     * Starts timing scenario running on the current thread
+     */
+    public static void startScenario() {
+        startNanos.set(System.nanoTime());
+    }
+
+    /**
+     * Records time elapsed since startScenario on the current thread
+     *
+     * @param key scenario history key
+     */
+    public static void finishScenario(String key) {
+        Long start = startNanos.get();
+        startNanos.remove();
+        if (start != null) {
+            measured.put(key, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Orders items longest-first by their recorded duration
+     * Items without history keep their original order and go first, their duration is unknown
+     * and starting them early keeps an unexpectedly long one from finishing the suite alone
+     *
+     * @param keyOf history key of an item
+     * @return new list in dispatch order
+     */
+    public static <T> List<T> orderLongestFirst(List<T> items, Function<T, String> keyOf) {
+        Map<String, Long> history = load();
+        List<T> unknown = new ArrayList<>();
+        List<T> known = new ArrayList<>();
+        long knownMillis = 0;
+        for (T item : items) {
+            Long duration = history.get(keyOf.apply(item));
+            if (duration == null) {
+                unknown.add(item);
+            } else {
+                known.add(item);
+                knownMillis += duration;
+            }
+        }
+        known.sort(Comparator.comparingLong((T item) -> history.get(keyOf.apply(item))).reversed());
+
+        int workers = ConfigReader.getParallelWorkers();
+        logger.info("Scenarios ordered longest-first: {} with history ({} s, ideal {} s on {} workers), {} without",
+                known.size(), knownMillis / 1000, knownMillis / 1000 / workers, workers, unknown.size());
+
+        List<T> ordered = new ArrayList<>(unknown);
+        ordered.addAll(known);
+        return ordered;
+    }
+
+    /**
+     * Merges durations measured in this run into the history file
+     * Should be called once at test suite end
+     */
+    public static void save() {
+        if (measured.isEmpty()) {
+            return;
+        }
+        Path file = getHistoryFile();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            // Shards of one build share the file, the lock keeps their merges from overwriting each other
+            try (FileChannel channel = FileChannel.open(Paths.get(file + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Map<String, Long> history = new TreeMap<>(load(file));
+                    measured.forEach((key, millis) -> history.merge(key, millis,
+                            (previous, current) -> Math.round(previous * (1 - SMOOTHING) + current * SMOOTHING)));
+
+                    Properties properties = new Properties();
+                    history.forEach((key, millis) -> properties.setProperty(key, String.valueOf(millis)));
+                    try (OutputStream output = Files.newOutputStream(file)) {
+                        properties.store(output, "Scenario wall-clock durations in ms, used to order scenarios longest-first");
+                    }
+                } finally {
+                    lock.release();
+                }
+            }
+            logger.info("Scenario durations saved: {} ({} measured this run)", file, measured.size());
+        } catch (IOException e) {
+            logger.warn("Failed to save scenario durations {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Reads history file
+     *
+     * @return duration in ms by scenario key, empty when there is no history yet
+     */
+    public static Map<String, Long> load() {
+        return load(getHistoryFile());
+    }
+
+    /**
+     * Reads history from file, e.g. a snapshot of scenario.durations.file
+     */
+    public static Map<String, Long> load(Path file) {
+        Map<String, Long> history = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        Properties properties = new Properties();
+        try (InputStream input = Files.newInputStream(file)) {
+            properties.load(input);
+        } catch (IOException e) {
+            logger.warn("Failed to read scenario durations {}: {}", file, e.getMessage());
+            return history;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                history.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            } catch (NumberFormatException e) {
+                logger.debug("Ignoring invalid scenario duration {}={}", key, properties.getProperty(key));
+            }
+        }
+        return history;
+    }
+
+    private static Path getHistoryFile() {
+        return Paths.get(ConfigReader.getScenarioDurationsFile());
+    }
+}
@@ -0,0 +1,167 @@
+package utils;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import config.ConfigReader;
+import org.slf4j.MDC;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Logback appender keeping log events of every running scenario in memory
+ * Events are keyed by the scenario id put into MDC on the scenario thread; when the scenario ends
+ * they are passed to the attached (async console) appenders only if it failed or log.verbose is set,
+ * otherwise they are dropped. Events outside scenarios go to the attached appenders at once
+ * when they reach consoleLevel
+ */
+public class ScenarioLogBuffer extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+    public static final String MDC_KEY = "scenario";
+
+    private static volatile ScenarioLogBuffer active;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final Map<String, Deque<ILoggingEvent>> buffers = new ConcurrentHashMap<>();
+    private final PatternLayout layout = new PatternLayout();
+    private String pattern = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+    private Level consoleLevel = Level.INFO;
+    private int maxEvents = 10000;
+
+    /**
+     * Starts buffering log events of the current thread under scenario id
+     */
+    public static void startScenario(String scenarioId) {
+        MDC.put(MDC_KEY, scenarioId);
+    }
+
+    /**
+     * Ends buffering for the current thread's scenario
+     *
+     * @param failed true to write buffered events to the console
+     * @return buffered events formatted for the report, null when they were dropped
+     */
+    public static String finishScenario(boolean failed) {
+        String scenarioId = MDC.get(MDC_KEY);
+        MDC.remove(MDC_KEY);
+        ScenarioLogBuffer buffer = active;
+        if (scenarioId == null || buffer == null) {
+            return null;
+        }
+        return buffer.release(scenarioId, failed || ConfigReader.isLogVerbose());
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public void setConsoleLevel(String consoleLevel) {
+        this.consoleLevel = Level.toLevel(consoleLevel, Level.INFO);
+    }
+
+    /**
+     * Sets events kept per scenario, oldest are dropped first
+     */
+    public void setMaxEvents(int maxEvents) {
+        this.maxEvents = Math.max(1, maxEvents);
+    }
+
+    @Override
+    public void start() {
+        layout.setContext(getContext());
+        layout.setPattern(pattern);
+        layout.start();
+        super.start();
+        active = this;
+    }
+
+    @Override
+    public void stop() {
+        if (active == this) {
+            active = null;
+        }
+        buffers.values().forEach(events -> events.forEach(appenders::appendLoopOnAppenders));
+        buffers.clear();
+        appenders.detachAndStopAllAppenders();
+        layout.stop();
+        super.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        String scenarioId = event.getMDCPropertyMap().get(MDC_KEY);
+        if (scenarioId == null) {
+            if (event.getLevel().isGreaterOrEqual(consoleLevel)) {
+                appenders.appendLoopOnAppenders(event);
+            }
+            return;
+        }
+        // Message and MDC are fixed now, the event may be written long after this call
+        event.prepareForDeferredProcessing();
+        Deque<ILoggingEvent> events = buffers.computeIfAbsent(scenarioId, id -> new ArrayDeque<>());
+        synchronized (events) {
+            events.addLast(event);
+            if (events.size() > maxEvents) {
+                events.removeFirst();
+            }
+        }
+    }
+
+    private String release(String scenarioId, boolean flush) {
+        Deque<ILoggingEvent> events = buffers.remove(scenarioId);
+        if (events == null || !flush) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        synchronized (events) {
+            for (ILoggingEvent event : events) {
+                appenders.appendLoopOnAppenders(event);
+                text.append(layout.doLayout(event));
+            }
+        }
+        return text.toString();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
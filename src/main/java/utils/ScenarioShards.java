@@ -0,0 +1,94 @@
+package utils;
+
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Splits scenarios between shard.total JVMs or machines, every shard computes the same split on its own
+ * With scenario duration history scenarios are packed longest-first onto the least loaded shard,
+ * scenarios missing from history count as the average known duration,
+ * without history a scenario goes to the shard given by CRC32 of its key
+ */
+public final class ScenarioShards {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioShards.class);
+
+    private ScenarioShards() {
+        // Utility class
+    }
+
+    /**
+     * Selects items of the shard configured by shard.index and shard.total
+     *
+     * @param keyOf scenario history key of an item, see ScenarioDurationHistory.key
+     * @return items of this shard in their original order
+     */
+    public static <T> List<T> select(List<T> items, Function<T, String> keyOf) {
+        int total = ConfigReader.getShardTotal();
+        int index = ConfigReader.getShardIndex();
+        if (total <= 1) {
+            return items;
+        }
+
+        String snapshot = ConfigReader.getShardDurationsSnapshot();
+        Map<String, Long> history = snapshot.isEmpty()
+                ? ScenarioDurationHistory.load() : ScenarioDurationHistory.load(Paths.get(snapshot));
+        List<String> keys = items.stream().map(keyOf).toList();
+        int[] assignment = history.isEmpty() ? byHash(keys, total) : byDuration(keys, history, total);
+
+        List<T> selected = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (assignment[i] == index) {
+                selected.add(items.get(i));
+            }
+        }
+        logger.info("Shard {}/{}: {} of {} scenarios, split by {}", index + 1, total, selected.size(), items.size(),
+                history.isEmpty() ? "name hash" : "duration history");
+        return selected;
+    }
+
+    private static int[] byHash(List<String> keys, int total) {
+        int[] assignment = new int[keys.size()];
+        for (int i = 0; i < keys.size(); i++) {
+            CRC32 crc = new CRC32();
+            crc.update(keys.get(i).getBytes(StandardCharsets.UTF_8));
+            assignment[i] = (int) (crc.getValue() % total);
+        }
+        return assignment;
+    }
+
+    private static int[] byDuration(List<String> keys, Map<String, Long> history, int total) {
+        long average = Math.max(1, Math.round(history.values().stream().mapToLong(Long::longValue).average().orElse(1)));
+        long[] durations = keys.stream().mapToLong(key -> history.getOrDefault(key, average)).toArray();
+
+        // Key breaks ties so the order does not depend on feature discovery order
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> durations[i]).reversed().thenComparing(keys::get));
+
+        int[] assignment = new int[keys.size()];
+        long[] load = new long[total];
+        for (int i : order) {
+            int lightest = 0;
+            for (int shard = 1; shard < total; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            assignment[i] = lightest;
+            load[lightest] += durations[i];
+        }
+        return assignment;
+    }
+}
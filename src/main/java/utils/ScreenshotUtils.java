@@ -1,20 +1,74 @@
 package utils;
 
 import com.microsoft.playwright.Page;
+import config.ConfigReader;
 import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Utility class for handling screenshots in tests
+ * Screenshots are captured and registered as JPEG attachments on the test thread, encoding and writing
+ * the attachment files happen on a bounded background executor, drained when the suite ends
  */
 public class ScreenshotUtils {
     private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtils.class);
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
+
+    private static final ThreadPoolExecutor encoder = createEncoder();
+    private static final ThreadLocal<ScenarioScreenshots> scenarioScreenshots =
+            ThreadLocal.withInitial(ScenarioScreenshots::new);
+
+    /**
+     * Starts screenshot budget and duplicate tracking for a new scenario on current thread
+     */
+    public static void startScenario() {
+        scenarioScreenshots.set(new ScenarioScreenshots());
+    }
+
+    /**
+     * Waits until every queued screenshot is written
+     * Should be called once at test suite end
+     */
+    public static void drain() {
+        encoder.shutdown();
+        try {
+            if (!encoder.awaitTermination(60, TimeUnit.SECONDS)) {
+                logger.warn("Screenshot encoder did not finish in time, {} screenshots dropped",
+                        encoder.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            encoder.shutdownNow();
+        }
+    }
     
     /**
      * Take screenshot and attach to Allure report
@@ -31,11 +85,8 @@ public class ScreenshotUtils {
             byte[] screenshot = page.screenshot(new Page.ScreenshotOptions()
                 .setFullPage(true)
                 .setType(com.microsoft.playwright.options.ScreenshotType.PNG));
-                
-            Allure.addAttachment(name, "image/png", 
-                new ByteArrayInputStream(screenshot), "png");
-                
-            logger.debug("Screenshot taken and attached to report: {}", name);
+
+            attachAsync(name, screenshot);
             
         } catch (Exception e) {
             logger.error("Failed to take screenshot '{}': {}", name, e.getMessage());
@@ -68,10 +119,8 @@ public class ScreenshotUtils {
             byte[] screenshot = page.locator(selector).screenshot(
                 new com.microsoft.playwright.Locator.ScreenshotOptions()
                     .setType(com.microsoft.playwright.options.ScreenshotType.PNG));
-                    
-            Allure.addAttachment(name + " (Element)", "image/png",
-                new ByteArrayInputStream(screenshot), "png");
-                
+
+            attachAsync(name + " (Element)", screenshot);
             logger.debug("Element screenshot taken: {} for selector: {}", name, selector);
             
         } catch (Exception e) {
@@ -90,4 +139,112 @@ public class ScreenshotUtils {
         String screenshotName = baseName + " - " + timestamp;
         takeScreenshot(page, screenshotName);
     }
+
+    /**
+     * Attaches screenshot to the running test and queues writing its JPEG file
+     * Identical frames of the same scenario are attached only once,
+     * the file is written on the test thread when the encoder queue is full or drained
+     */
+    private static void attachAsync(String name, byte[] png) {
+        ScenarioScreenshots scenario = scenarioScreenshots.get();
+        if (!scenario.hashes.add(hash(png))) {
+            logger.debug("Screenshot '{}' is identical to an earlier one - skipped", name);
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCase().isEmpty()) {
+            logger.warn("Screenshot '{}' not attached - no test is running", name);
+            return;
+        }
+
+        // Registered on the test thread, so the encoder never needs the test case and teardown never waits for it
+        String source = lifecycle.prepareAttachment(name, "image/jpeg", "jpg");
+        Runnable write = () -> writeAttachment(name, source, png, scenario);
+        try {
+            encoder.execute(write);
+            logger.debug("Screenshot queued for report: {}", name);
+        } catch (RejectedExecutionException e) {
+            write.run();
+        }
+    }
+
+    private static void writeAttachment(String name, String source, byte[] png, ScenarioScreenshots scenario) {
+        byte[] content;
+        try {
+            boolean overBudget = scenario.bytes.get() >= ConfigReader.getScreenshotScenarioMaxBytes();
+            int maxWidth = overBudget ? ConfigReader.getScreenshotThumbnailWidth() : ConfigReader.getScreenshotMaxWidth();
+            content = encodeJpeg(png, maxWidth);
+            scenario.bytes.addAndGet(content.length);
+            logger.debug("Screenshot '{}' encoded: {} KB PNG -> {} KB JPEG{}", name, png.length / 1024,
+                    content.length / 1024, overBudget ? " (thumbnail, scenario size cap reached)" : "");
+        } catch (Exception e) {
+            // Attachment is registered as JPEG, PNG bytes would be mislabelled
+            logger.error("Failed to encode screenshot '{}', attachment file not written: {}", name, e.getMessage());
+            return;
+        }
+        Allure.getLifecycle().writeAttachment(source, new ByteArrayInputStream(content));
+    }
+
+    private static byte[] encodeJpeg(byte[] png, int maxWidth) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        if (source == null) {
+            throw new IOException("Unreadable PNG");
+        }
+        double scale = Math.min(1.0, (double) maxWidth / source.getWidth());
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        // JPEG has no alpha channel
+        BufferedImage target = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(ConfigReader.getScreenshotJpegQuality());
+            writer.write(null, new IIOImage(target, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return new BigInteger(1, MessageDigest.getInstance("SHA-1").digest(content)).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("SHA-1 not available", e);
+        }
+    }
+
+    private static ThreadPoolExecutor createEncoder() {
+        int workers = ConfigReader.getScreenshotWorkers();
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(ConfigReader.getScreenshotQueueSize()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-encoder-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Screenshots of one scenario: content hashes for dedup and bytes written for the size cap
+     */
+    private static final class ScenarioScreenshots {
+        private final Set<String> hashes = ConcurrentHashMap.newKeySet();
+        private final AtomicLong bytes = new AtomicLong();
+    }
 }
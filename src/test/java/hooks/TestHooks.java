@@ -2,11 +2,31 @@ package hooks;
 
 import com.microsoft.playwright.Page;
 import config.BrowserManager;
+import config.ConfigReader;
+import config.NetworkRouter;
+import config.ScenarioContext;
+import config.SessionCache;
 import config.TestConfig;
 import config.TestDataManager;
 import io.cucumber.java.*;
+import io.qameta.allure.Allure;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import server.StandInServer;
+import utils.ActionLatencyRecorder;
+import utils.NavigationMetrics;
+import utils.PerformanceBudget;
+import utils.ProtocolCallCounter;
+import utils.ScenarioDurationHistory;
+import utils.ScenarioLogBuffer;
+import utils.ScreenshotUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
 import static utils.ScreenshotUtils.takeScreenshotOnFailure;
 
 /**
@@ -14,6 +34,7 @@ import static utils.ScreenshotUtils.takeScreenshotOnFailure;
  */
 public class TestHooks {
     private static final Logger logger = LoggerFactory.getLogger(TestHooks.class);
+    private static final String SESSION_TAG_PREFIX = "@session=";
     
     /**
      * Executed once before all scenarios
@@ -28,15 +49,29 @@ public class TestHooks {
             logger.info("Validating test configuration...");
             TestConfig.validateConfiguration();
             logger.info("Test configuration validation successful");
+
+            // Local environment is served by the in-JVM stand-in server
+            if ("local".equalsIgnoreCase(TestDataManager.TestConfiguration.getEnvironment())) {
+                logger.info("Starting local stand-in server...");
+                logger.info("Stand-in server running on {}", StandInServer.startShared());
+            }
             
             // Initialize test data manager
             logger.info("Initializing test data manager...");
             TestDataManager.initialize();
             logger.info("Test data manager initialized successfully");
             
-            // Initialize browser (will be reused across scenarios)
+            // Initialize browser (will be reused across scenarios), every engine of the browser matrix
             logger.info("Initializing browser...");
-            BrowserManager.initializeBrowser();
+            if (ConfigReader.getBrowserMatrix().isEmpty()) {
+                BrowserManager.initializeBrowser();
+            } else {
+                for (String engine : ConfigReader.getBrowserMatrix()) {
+                    BrowserManager.useEngine(engine);
+                    BrowserManager.initializeBrowser();
+                }
+                BrowserManager.useEngine(null);
+            }
             logger.info("Browser initialization completed: {}", BrowserManager.getBrowserInfo());
             logger.info("=== Test Suite Setup Completed Successfully ===");
             
@@ -53,10 +88,19 @@ public class TestHooks {
     @Before(order = 1)
     public void beforeScenario(Scenario scenario) {
         logger.info("▶ Starting scenario: {}", scenario.getName());
+        ScenarioLogBuffer.startScenario(scenario.getId());
+        ScenarioDurationHistory.startScenario();
+        ScenarioContext.start(scenario.getId(), scenario.getName(), scenario.getUri(), scenario.getLine(),
+                getMatrixEngine(), scenario.getSourceTagNames());
+        ProtocolCallCounter.reset();
+        ScreenshotUtils.startScenario();
+        PerformanceBudget.drainSoftViolations();
+        addBrowserParameter();
         
         try {
             // Create fresh page for each scenario to ensure isolation
-            BrowserManager.createNewPage();
+            // @session=<role> tag starts the scenario already logged in from the session cache
+            BrowserManager.createNewPage(getSessionRole(scenario));
             logger.debug("New page created successfully for scenario: {}", scenario.getName());
             
         } catch (Exception e) {
@@ -66,6 +110,19 @@ public class TestHooks {
         }
     }
 
+    /**
+     * Fails scenario when soft performance budgets were exceeded
+     * Runs before afterScenario, so failure screenshot and trace are captured
+     */
+    @After(order = 1)
+    public void verifyPerformanceBudgets(Scenario scenario) {
+        List<String> violations = PerformanceBudget.drainSoftViolations();
+        if (!violations.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded in scenario '" + scenario.getName() + "':\n"
+                    + String.join("\n", violations));
+        }
+    }
+
     /**
      * Cleanup after each scenario
      * Takes screenshot on failure and cleans up resources
@@ -77,7 +134,13 @@ public class TestHooks {
             if (scenario.isFailed()) {
                 takeFailureScreenshot(scenario);
             }
+
+            // Trace chunk is kept only for failed scenarios
+            attachTrace(BrowserManager.stopTracing(scenario.isFailed()), scenario);
             
+            reportNetworkStats(scenario);
+            reportProtocolCalls(scenario);
+
             // Clean up page resources for current thread
             logger.debug("Cleaning up resources for scenario: {}", scenario.getName());
             BrowserManager.closePage();
@@ -85,12 +148,95 @@ public class TestHooks {
         } catch (Exception e) {
             logger.error("Error during scenario cleanup for '{}': {}", 
                         scenario.getName(), e.getMessage(), e);
+        } finally {
+            ScenarioDurationHistory.finishScenario(
+                    ScenarioDurationHistory.key(scenario.getUri(), scenario.getLine(), getMatrixEngine()));
+            ScenarioContext.clear();
+            attachScenarioLog(scenario);
         }
         
         logger.info("▶ Completed scenario: {} - Status: {}", 
                    scenario.getName(), scenario.getStatus());
     }
 
+    /**
+     * Ends log buffering of the scenario, log of a failed scenario is printed and attached
+     */
+    private void attachScenarioLog(Scenario scenario) {
+        String log = ScenarioLogBuffer.finishScenario(scenario.isFailed());
+        if (log != null && !log.isEmpty()) {
+            scenario.attach(log, "text/plain", "Scenario log");
+        }
+    }
+
+    /**
+     * Adds browser engine of a browser matrix run to the Allure result
+     * History id gets the engine too, otherwise Allure shows the engines of a scenario as retries of one test
+     */
+    private void addBrowserParameter() {
+        String engine = getMatrixEngine();
+        if (engine == null) {
+            return;
+        }
+        Allure.parameter("browser", engine);
+        Allure.getLifecycle().updateTestCase(result -> result.setHistoryId(result.getHistoryId() + "@" + engine));
+    }
+
+    /**
+     * Gets engine the scenario runs on, null without browser matrix
+     */
+    private static String getMatrixEngine() {
+        return ConfigReader.getBrowserMatrix().isEmpty() ? null : BrowserManager.getEngine();
+    }
+
+    /**
+     * Logs and attaches blocked/stubbed request counters of the scenario
+     */
+    private void reportNetworkStats(Scenario scenario) {
+        NetworkRouter.NetworkStats stats = BrowserManager.getNetworkStats();
+        if (stats != null) {
+            logger.info("Network routing for scenario '{}': {}", scenario.getName(), stats);
+            scenario.attach(stats.toString(), "text/plain", "Network routing");
+        }
+    }
+
+    /**
+     * Attaches saved Playwright trace to the Allure report
+     */
+    private void attachTrace(Path trace, Scenario scenario) {
+        if (trace == null) {
+            return;
+        }
+        try (InputStream content = Files.newInputStream(trace)) {
+            Allure.addAttachment("Playwright trace", "application/zip", content, "zip");
+            logger.warn("Trace of failed scenario '{}' saved: {}", scenario.getName(), trace);
+        } catch (IOException e) {
+            logger.error("Failed to attach trace {}: {}", trace, e.getMessage());
+        }
+    }
+
+    /**
+     * Logs and attaches number of Playwright calls made by page objects during the scenario
+     */
+    private void reportProtocolCalls(Scenario scenario) {
+        long calls = ProtocolCallCounter.get();
+        logger.info("Protocol calls for scenario '{}': {}", scenario.getName(), calls);
+        scenario.attach(String.valueOf(calls), "text/plain", "Protocol calls");
+    }
+
+    /**
+     * Resolves role from @session=client|admin|autotest_parent tag
+     *
+     * @return role or null for anonymous scenarios
+     */
+    private SessionCache.Role getSessionRole(Scenario scenario) {
+        return scenario.getSourceTagNames().stream()
+                .filter(tag -> tag.startsWith(SESSION_TAG_PREFIX))
+                .map(tag -> SessionCache.Role.fromTagValue(tag.substring(SESSION_TAG_PREFIX.length())))
+                .findFirst()
+                .orElse(null);
+    }
+
     /**
      * Takes screenshot when scenario fails
      * Fixed method signature to match ScreenshotUtils
@@ -121,6 +267,11 @@ public class TestHooks {
         logger.info("=== Test Suite Cleanup Started ===");
         try {
             performBrowserCleanup();
+            ScreenshotUtils.drain();
+            StandInServer.stopShared();
+            ActionLatencyRecorder.writeReport();
+            NavigationMetrics.writeReport();
+            ScenarioDurationHistory.save();
             logger.info("=== Test Suite Cleanup Completed ===");
         } catch (Exception e) {
             logger.error("Error during test suite cleanup: {}", e.getMessage(), e);
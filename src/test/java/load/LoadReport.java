@@ -0,0 +1,108 @@
+package load;
+
+import com.google.gson.GsonBuilder;
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import utils.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency percentiles, throughput and errors per flow step of a load run
+ * Only samples started in the steady-state window are recorded
+ */
+final class LoadReport {
+    private static final Logger logger = LoggerFactory.getLogger(LoadReport.class);
+    private static final String REPORT_FILE = "load-report.json";
+
+    private final List<String> stepOrder;
+    private final Map<String, StepStats> steps = new ConcurrentHashMap<>();
+
+    LoadReport(List<String> stepOrder) {
+        this.stepOrder = stepOrder;
+    }
+
+    void recordSuccess(String step, long elapsedNanos) {
+        stats(step).latency.record(elapsedNanos / 1_000);
+    }
+
+    void recordError(String step) {
+        stats(step).errors.incrementAndGet();
+    }
+
+    /**
+     * Logs summary table and writes it as JSON to perf.report.dir
+     *
+     * @param steadyStateMillis length of the measured window, used for throughput
+     */
+    void write(LoadSettings settings, long steadyStateMillis) {
+        double seconds = Math.max(1, steadyStateMillis) / 1_000.0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        logger.info("Load run: {}", settings);
+        logger.info(String.format("%-14s %8s %7s %9s %9s %9s %9s %9s %9s",
+                "step", "count", "errors", "per sec", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        for (String step : stepOrder) {
+            StepStats stats = steps.get(step);
+            if (stats == null) {
+                continue;
+            }
+            LatencyHistogram latency = stats.latency;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("step", step);
+            row.put("count", latency.getTotalCount());
+            row.put("errors", stats.errors.get());
+            row.put("throughputPerSecond", round(latency.getTotalCount() / seconds));
+            row.put("p50Ms", toMillis(latency.getValueAtPercentile(50)));
+            row.put("p90Ms", toMillis(latency.getValueAtPercentile(90)));
+            row.put("p95Ms", toMillis(latency.getValueAtPercentile(95)));
+            row.put("p99Ms", toMillis(latency.getValueAtPercentile(99)));
+            row.put("maxMs", toMillis(latency.getMaxMicros()));
+            rows.add(row);
+            logger.info(String.format("%-14s %8d %7d %9.2f %9.1f %9.1f %9.1f %9.1f %9.1f",
+                    step, latency.getTotalCount(), stats.errors.get(), row.get("throughputPerSecond"),
+                    row.get("p50Ms"), row.get("p90Ms"), row.get("p95Ms"), row.get("p99Ms"), row.get("maxMs")));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.toString());
+        report.put("steadyStateSeconds", seconds);
+        report.put("steps", rows);
+        Path reportFile = Paths.get(ConfigReader.getPerfReportDirectory(), REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Files.write(reportFile, new GsonBuilder().setPrettyPrinting().create().toJson(report)
+                    .getBytes(StandardCharsets.UTF_8));
+            logger.info("Load report written: {}", reportFile);
+        } catch (IOException e) {
+            logger.error("Failed to write load report {}: {}", reportFile, e.getMessage());
+        }
+    }
+
+    private StepStats stats(String step) {
+        return steps.computeIfAbsent(step, name -> new StepStats());
+    }
+
+    private static double toMillis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private static final class StepStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLong errors = new AtomicLong();
+    }
+}
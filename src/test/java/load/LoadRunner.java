@@ -0,0 +1,77 @@
+package load;
+
+import config.BrowserManager;
+import config.BrowserPool;
+import config.TestDataManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import server.StandInServer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Virtual-user load mode driving the booking flow through the page objects
+ * login -> calendar -> cart -> confirmation, each virtual user on its own browser and context
+ *
+ * Runs against the local stand-in server unless test.environment is passed explicitly, the booking flow
+ * pays for every iteration and nothing cleans those bookings up on a real environment
+ *
+ * Run: mvn test -Pload -Dload.users=10 -Dload.duration.seconds=300 [-Dtest.environment=dev]
+ */
+public final class LoadRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadRunner.class);
+
+    private LoadRunner() {
+        // Main class
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        // Functional-run diagnostics would distort the measurements, -D still switches them on
+        setDefault("trace.mode", "off");
+        setDefault("perf.navigation.enabled", "false");
+        setDefault("performance.budget.mode", "off");
+        if (System.getenv("TEST_ENVIRONMENT") == null) {
+            setDefault("test.environment", "local");
+        }
+
+        LoadSettings settings = LoadSettings.fromConfig();
+        TestDataManager.initialize();
+        logger.info("Starting load run against {}: {}", TestDataManager.URLs.getBaseUrl(), settings);
+
+        BrowserPool pool = BrowserManager.createBrowserPool(settings.users);
+        LoadReport report = new LoadReport(VirtualUser.STEPS);
+        ExecutorService users = Executors.newFixedThreadPool(settings.users, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("virtual-user-" + thread.getId());
+            return thread;
+        });
+
+        long start = System.nanoTime();
+        long steadyStateStart = start + TimeUnit.MILLISECONDS.toNanos(settings.rampUpMillis);
+        long end = steadyStateStart + TimeUnit.MILLISECONDS.toNanos(settings.durationMillis);
+        try {
+            for (int i = 0; i < settings.users; i++) {
+                long startAt = start + TimeUnit.MILLISECONDS.toNanos(settings.rampUpMillis * i / settings.users);
+                users.execute(new VirtualUser(i + 1, pool, settings, report, startAt, steadyStateStart, end));
+            }
+            users.shutdown();
+            // Iterations in flight when the window closes are allowed to finish
+            if (!users.awaitTermination(settings.rampUpMillis + settings.durationMillis + 300_000, TimeUnit.MILLISECONDS)) {
+                logger.warn("Virtual users did not stop in time");
+                users.shutdownNow();
+            }
+        } finally {
+            pool.shutdown();
+            StandInServer.stopShared();
+        }
+        report.write(settings, settings.durationMillis);
+    }
+
+    private static void setDefault(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
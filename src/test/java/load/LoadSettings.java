@@ -0,0 +1,37 @@
+package load;
+
+import config.ConfigReader;
+
+/**
+ * Virtual-user load settings, load.* keys of config/properties overridable with -D
+ */
+final class LoadSettings {
+    final int users;
+    final long rampUpMillis;
+    final long durationMillis;
+    final long thinkMillis;
+    final int days;
+
+    private LoadSettings(int users, long rampUpMillis, long durationMillis, long thinkMillis, int days) {
+        this.users = users;
+        this.rampUpMillis = rampUpMillis;
+        this.durationMillis = durationMillis;
+        this.thinkMillis = thinkMillis;
+        this.days = days;
+    }
+
+    static LoadSettings fromConfig() {
+        return new LoadSettings(
+                ConfigReader.getLoadUsers(),
+                ConfigReader.getLoadRampUpSeconds() * 1_000,
+                ConfigReader.getLoadDurationSeconds() * 1_000,
+                ConfigReader.getLoadThinkMillis(),
+                ConfigReader.getLoadDays());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("users=%d, ramp-up=%ds, steady state=%ds, think time=%dms, days per booking=%d",
+                users, rampUpMillis / 1_000, durationMillis / 1_000, thinkMillis, days);
+    }
+}
@@ -0,0 +1,163 @@
+package load;
+
+import com.microsoft.playwright.Page;
+import config.BrowserManager;
+import config.BrowserPool;
+import config.TestConfig;
+import config.TestDataManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import pages.BookingConfirmationPage;
+import pages.CalendarBookActivityPage;
+import pages.CartPage;
+import pages.ClientLoginPage;
+import pages.SelectActivityPage;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One virtual user repeating the booking flow until the run ends
+ * The user keeps its own browser for the whole run and opens a fresh context for every iteration
+ */
+final class VirtualUser implements Runnable {
+    private static final Logger logger = LoggerFactory.getLogger(VirtualUser.class);
+
+    static final String LOGIN = "login";
+    static final String CALENDAR = "calendar";
+    static final String CART = "cart";
+    static final String CONFIRMATION = "confirmation";
+    static final String FLOW = "full flow";
+    static final List<String> STEPS = Arrays.asList(LOGIN, CALENDAR, CART, CONFIRMATION, FLOW);
+
+    private final int id;
+    private final BrowserPool pool;
+    private final LoadSettings settings;
+    private final LoadReport report;
+    private final long startAtNanos;
+    private final long steadyStateStartNanos;
+    private final long endNanos;
+
+    VirtualUser(int id, BrowserPool pool, LoadSettings settings, LoadReport report,
+                long startAtNanos, long steadyStateStartNanos, long endNanos) {
+        this.id = id;
+        this.pool = pool;
+        this.settings = settings;
+        this.report = report;
+        this.startAtNanos = startAtNanos;
+        this.steadyStateStartNanos = steadyStateStartNanos;
+        this.endNanos = endNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            pause(TimeUnit.NANOSECONDS.toMillis(startAtNanos - System.nanoTime()));
+            logger.info("Virtual user {} started", id);
+            BrowserPool.PooledBrowser lease = pool.lease();
+            try {
+                while (System.nanoTime() < endNanos) {
+                    if (!lease.isHealthy()) {
+                        // Lease relaunches crashed browsers
+                        pool.release(lease);
+                        lease = pool.lease();
+                    }
+                    runIteration(lease);
+                }
+            } finally {
+                pool.release(lease);
+            }
+            logger.info("Virtual user {} finished", id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Virtual user {} stopped: {}", id, e.getMessage(), e);
+        }
+    }
+
+    private void runIteration(BrowserPool.PooledBrowser lease) throws InterruptedException {
+        Page page = BrowserManager.openPage(lease.getBrowser());
+        long flowStart = System.nanoTime();
+        try {
+            ClientLoginPage loginPage = new ClientLoginPage(page);
+            step(LOGIN, () -> {
+                loginPage.navigateToClientLoginPage();
+                loginPage.login(TestDataManager.UserCredentials.getClientValidEmail(),
+                        TestDataManager.UserCredentials.getClientValidPassword());
+                page.waitForURL("**/activity/list", new Page.WaitForURLOptions().setTimeout(TestConfig.getElementTimeout()));
+            });
+            think();
+
+            step(CALENDAR, () -> {
+                new SelectActivityPage(page).bookAutotestActivity();
+                new CalendarBookActivityPage(page).selectFirstNDays(settings.days);
+            });
+            think();
+
+            CartPage cartPage = new CartPage(page);
+            step(CART, () -> {
+                cartPage.navigateToCart();
+                cartPage.payWithSavedCard();
+            });
+            think();
+
+            step(CONFIRMATION, () -> new BookingConfirmationPage(page).getBookingReferenceNumber());
+            record(FLOW, flowStart, true);
+        } catch (StepFailedException e) {
+            logger.warn("Virtual user {} failed at {}: {}", id, e.getMessage(), e.getCause().getMessage());
+            record(FLOW, flowStart, false);
+        } finally {
+            try {
+                page.context().close();
+            } catch (RuntimeException e) {
+                logger.warn("Virtual user {} could not close context: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    private void step(String name, Runnable action) {
+        long start = System.nanoTime();
+        try {
+            action.run();
+            record(name, start, true);
+        } catch (RuntimeException e) {
+            record(name, start, false);
+            throw new StepFailedException(name, e);
+        }
+    }
+
+    // Ramp-up samples are not part of the steady-state results
+    private void record(String name, long startNanos, boolean success) {
+        if (startNanos < steadyStateStartNanos || startNanos >= endNanos) {
+            return;
+        }
+        if (success) {
+            report.recordSuccess(name, System.nanoTime() - startNanos);
+        } else {
+            report.recordError(name);
+        }
+    }
+
+    // Think time varies by +-50% so users do not move in lockstep
+    private void think() throws InterruptedException {
+        if (settings.thinkMillis > 0) {
+            pause((long) (settings.thinkMillis * ThreadLocalRandom.current().nextDouble(0.5, 1.5)));
+        }
+    }
+
+    private static void pause(long millis) throws InterruptedException {
+        if (millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+
+    private static final class StepFailedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private StepFailedException(String step, RuntimeException cause) {
+            super(step, cause);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package runners;
+
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
+import utils.ScenarioDurationHistory;
+
+/**
+ * Scenario of a browser matrix run bound to one browser engine
+ * TestRunner selects the engine on the worker thread before the scenario creates its page
+ */
+final class EnginePickleWrapper implements PickleWrapper {
+    private final PickleWrapper pickleWrapper;
+    private final String engine;
+
+    EnginePickleWrapper(PickleWrapper pickleWrapper, String engine) {
+        this.pickleWrapper = pickleWrapper;
+        this.engine = engine;
+    }
+
+    /**
+     * Gets engine of the scenario, null for a scenario outside browser matrix
+     */
+    static String engineOf(PickleWrapper pickleWrapper) {
+        return pickleWrapper instanceof EnginePickleWrapper wrapper ? wrapper.engine : null;
+    }
+
+    /**
+     * Gets scenario duration history key, with the engine in a browser matrix run
+     */
+    static String historyKey(PickleWrapper pickleWrapper) {
+        Pickle pickle = pickleWrapper.getPickle();
+        return ScenarioDurationHistory.key(pickle.getUri(), pickle.getLine(), engineOf(pickleWrapper));
+    }
+
+    @Override
+    public Pickle getPickle() {
+        return pickleWrapper.getPickle();
+    }
+
+    @Override
+    public String toString() {
+        return pickleWrapper + " [" + engine + "]";
+    }
+}
@@ -0,0 +1,470 @@
+package runners;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Static index from page objects to the step definitions using them and on to the scenarios running those steps
+ * Used to run only scenarios impacted by a git diff (impact.base) - a changed page constant or method impacts
+ * the page methods and steps referencing it, a changed step impacts scenarios with a matching step,
+ * a changed feature impacts its edited scenarios. Changes anywhere else, pom.xml included, impact every scenario
+ *
+ * Run: mvn exec:java -Dexec.mainClass=runners.ImpactIndex -Dexec.classpathScope=test -Dexec.args="origin/main"
+ */
+public final class ImpactIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactIndex.class);
+    private static final String PAGES_DIR = "src/main/java/pages/";
+    private static final String STEPS_DIR = "src/test/java/steps/";
+    private static final String FEATURES_DIR = "src/test/resources/features/";
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+    private static final Pattern STEP_LINE = Pattern.compile("^\\s*(?:Given|When|Then|And|But|\\*)\\s+(.+?)\\s*$");
+    private static final Pattern SCENARIO_LINE = Pattern.compile("^\\s*(Scenario|Example|Scenario Outline|Scenario Template):");
+
+    private final Map<String, SourceMembers> classes = new LinkedHashMap<>();
+    private final Map<String, String> classFiles = new HashMap<>();
+    private final Map<String, List<FeatureScenario>> features = new LinkedHashMap<>();
+
+    private ImpactIndex() {
+    }
+
+    /**
+     * Scenario of a feature file, outlines have one key per example row
+     */
+    private static final class FeatureScenario {
+        private final int startLine;
+        private int endLine;
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> steps = new ArrayList<>();
+
+        private FeatureScenario(int startLine) {
+            this.startLine = startLine;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path projectDir = projectRoot();
+        String base = args.length > 0 ? args[0] : "origin/main";
+        Set<String> impacted = build(projectDir).impactedScenarios(gitDiff(projectDir, base));
+        logger.info("Scenarios impacted by changes since {}: {}", base, impacted == null ? "all" : impacted);
+    }
+
+    /**
+     * Keeps only items impacted by changes since git revision and items always run (@smoke)
+     * Runs every item when the diff cannot be read
+     *
+     * @param base git revision the working tree is compared with, e.g. origin/main
+     * @param keyOf scenario history key of an item, see ScenarioDurationHistory.key
+     * @param alwaysRun items run whatever changed
+     */
+    public static <T> List<T> select(String base, List<T> items, Function<T, String> keyOf, Predicate<T> alwaysRun) {
+        Set<String> impacted;
+        try {
+            Path projectDir = projectRoot();
+            impacted = build(projectDir).impactedScenarios(gitDiff(projectDir, base));
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Change impact could not be computed, running every scenario: {}", e.getMessage());
+            return items;
+        }
+        if (impacted == null) {
+            logger.info("Changes since {} are outside pages, steps and features, running every scenario", base);
+            return items;
+        }
+        List<T> selected = items.stream()
+                .filter(item -> alwaysRun.test(item) || impacted.contains(keyOf.apply(item)))
+                .collect(Collectors.toList());
+        logger.info("Changes since {} impact {} scenarios, running {} of {} with @smoke", base, impacted.size(),
+                selected.size(), items.size());
+        return selected;
+    }
+
+    /**
+     * Indexes page objects, step definitions and features of the project
+     */
+    static ImpactIndex build(Path projectDir) throws IOException {
+        ImpactIndex index = new ImpactIndex();
+        for (String dir : new String[]{PAGES_DIR, STEPS_DIR}) {
+            for (Path file : list(projectDir.resolve(dir), ".java")) {
+                SourceMembers members = SourceMembers.parse(file);
+                index.classes.put(members.className, members);
+                index.classFiles.put(dir + file.getFileName(), members.className);
+            }
+        }
+        for (Path file : list(projectDir.resolve(FEATURES_DIR), ".feature")) {
+            index.features.put(FEATURES_DIR + file.getFileName(), parseFeature(file));
+        }
+        return index;
+    }
+
+    /**
+     * Gets scenarios impacted by changed lines
+     *
+     * @param changedLines changed line numbers by file path relative to project root, empty set for a removed file
+     * @return scenario history keys, null when a change can impact every scenario
+     */
+    Set<String> impactedScenarios(Map<String, Set<Integer>> changedLines) {
+        Set<String> changedMembers = new HashSet<>();
+        Set<String> impacted = new TreeSet<>();
+        for (Map.Entry<String, Set<Integer>> change : changedLines.entrySet()) {
+            String path = change.getKey();
+            if (path.startsWith(PAGES_DIR) || path.startsWith(STEPS_DIR)) {
+                SourceMembers members = classes.get(classFiles.get(path));
+                if (members == null || change.getValue().isEmpty()) {
+                    logger.info("{} was added or removed", path);
+                    return null;
+                }
+                for (int line : change.getValue()) {
+                    SourceMembers.Member member = members.memberAt(line);
+                    if (member != null) {
+                        changedMembers.add(members.className + "#" + member.name);
+                    } else if (members.isClassLevel(line)) {
+                        members.members.forEach(all -> changedMembers.add(members.className + "#" + all.name));
+                    }
+                }
+            } else if (path.startsWith(FEATURES_DIR)) {
+                List<FeatureScenario> scenarios = features.get(path);
+                if (scenarios == null) {
+                    // Removed feature has nothing left to run
+                    continue;
+                }
+                for (FeatureScenario scenario : scenarios) {
+                    boolean edited = change.getValue().stream()
+                            .anyMatch(line -> line >= scenario.startLine && line <= scenario.endLine);
+                    boolean headerEdited = change.getValue().stream()
+                            .anyMatch(line -> line < scenarios.get(0).startLine);
+                    if (edited || headerEdited) {
+                        impacted.addAll(scenario.keys);
+                    }
+                }
+            } else {
+                logger.info("{} is not indexed", path);
+                return null;
+            }
+        }
+
+        propagate(changedMembers);
+        List<Pattern> impactedSteps = new ArrayList<>();
+        for (SourceMembers members : classes.values()) {
+            for (SourceMembers.Member member : members.members) {
+                if (changedMembers.contains(members.className + "#" + member.name)) {
+                    member.stepExpressions.forEach(expression -> impactedSteps.add(toPattern(expression)));
+                }
+            }
+        }
+        features.values().stream().flatMap(List::stream)
+                .filter(scenario -> scenario.steps.stream()
+                        .anyMatch(step -> impactedSteps.stream().anyMatch(pattern -> pattern.matcher(step).matches())))
+                .forEach(scenario -> impacted.addAll(scenario.keys));
+        return impacted;
+    }
+
+    /**
+     * Adds members referencing changed members until nothing more changes
+     */
+    private void propagate(Set<String> changedMembers) {
+        boolean added = true;
+        while (added) {
+            added = false;
+            for (SourceMembers members : classes.values()) {
+                for (SourceMembers.Member member : members.members) {
+                    String symbol = members.className + "#" + member.name;
+                    if (!changedMembers.contains(symbol) && references(members, member, changedMembers)) {
+                        changedMembers.add(symbol);
+                        added = true;
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean references(SourceMembers owner, SourceMembers.Member member, Set<String> changedMembers) {
+        for (String[] call : member.calls) {
+            String receiver = call[0];
+            String type = receiver.isEmpty() || receiver.equals("this") ? owner.className
+                    : classes.containsKey(receiver) ? receiver : owner.variableTypes.get(receiver);
+            String declaring = declaringClass(type, call[1]);
+            if (declaring != null && changedMembers.contains(declaring + "#" + call[1])) {
+                return true;
+            }
+        }
+        for (String constant : member.constants) {
+            String declaring = declaringClass(owner.className, constant);
+            if (declaring != null && changedMembers.contains(declaring + "#" + constant)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds class declaring member, walking up indexed superclasses
+     */
+    private String declaringClass(String className, String memberName) {
+        SourceMembers members = className == null ? null : classes.get(className);
+        while (members != null) {
+            if (members.member(memberName) != null) {
+                return members.className;
+            }
+            members = members.superClass == null ? null : classes.get(members.superClass);
+        }
+        return null;
+    }
+
+    private static List<FeatureScenario> parseFeature(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        String fileName = file.getFileName().toString();
+        List<FeatureScenario> scenarios = new ArrayList<>();
+        List<String> background = new ArrayList<>();
+        FeatureScenario current = null;
+        boolean inBackground = false;
+        boolean outline = false;
+        List<String> exampleHeader = null;
+        List<String> templateSteps = new ArrayList<>();
+        int firstTagLine = -1;
+
+        for (int i = 0; i < lines.size(); i++) {
+            int lineNumber = i + 1;
+            String line = lines.get(i).trim();
+            if (line.startsWith("@")) {
+                firstTagLine = firstTagLine < 0 ? lineNumber : firstTagLine;
+                continue;
+            }
+            Matcher scenarioLine = SCENARIO_LINE.matcher(line);
+            if (scenarioLine.find()) {
+                if (current != null) {
+                    current.endLine = (firstTagLine > 0 ? firstTagLine : lineNumber) - 1;
+                }
+                current = new FeatureScenario(firstTagLine > 0 ? firstTagLine : lineNumber);
+                current.steps.addAll(background);
+                outline = scenarioLine.group(1).contains("Outline") || scenarioLine.group(1).contains("Template");
+                if (!outline) {
+                    current.keys.add(fileName + ":" + lineNumber);
+                }
+                templateSteps = new ArrayList<>();
+                exampleHeader = null;
+                inBackground = false;
+                scenarios.add(current);
+            } else if (line.startsWith("Background:")) {
+                inBackground = true;
+            } else if (line.startsWith("Examples:") || line.startsWith("Scenarios:")) {
+                exampleHeader = new ArrayList<>();
+            } else if (line.startsWith("|") && outline && current != null && exampleHeader != null) {
+                List<String> cells = tableCells(line);
+                if (exampleHeader.isEmpty()) {
+                    exampleHeader.addAll(cells);
+                } else {
+                    current.keys.add(fileName + ":" + lineNumber);
+                    for (String step : templateSteps) {
+                        for (int cell = 0; cell < exampleHeader.size() && cell < cells.size(); cell++) {
+                            step = step.replace("<" + exampleHeader.get(cell) + ">", cells.get(cell));
+                        }
+                        current.steps.add(step);
+                    }
+                }
+            } else {
+                Matcher step = STEP_LINE.matcher(lines.get(i));
+                if (step.find()) {
+                    if (inBackground) {
+                        background.add(step.group(1));
+                    } else if (outline) {
+                        templateSteps.add(step.group(1));
+                    } else if (current != null) {
+                        current.steps.add(step.group(1));
+                    }
+                }
+            }
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                firstTagLine = -1;
+            }
+        }
+        if (current != null) {
+            current.endLine = lines.size();
+        }
+        return scenarios;
+    }
+
+    private static List<String> tableCells(String row) {
+        List<String> cells = new ArrayList<>();
+        String[] parts = row.trim().split("(?<!\\\\)\\|");
+        for (int i = 1; i < parts.length; i++) {
+            cells.add(parts[i].trim());
+        }
+        return cells;
+    }
+
+    /**
+     * Converts Cucumber expression (or regular expression) of a step definition to a pattern matching step text
+     */
+    static Pattern toPattern(String expression) {
+        if (expression.startsWith("^") || expression.endsWith("$")) {
+            return Pattern.compile(expression);
+        }
+        StringBuilder regex = new StringBuilder();
+        for (String word : expression.split(" ", -1)) {
+            if (regex.length() > 0) {
+                regex.append(' ');
+            }
+            if (word.contains("/") && !word.contains("{")) {
+                regex.append(Stream.of(word.split("/")).map(ImpactIndex::wordPattern)
+                        .collect(Collectors.joining("|", "(?:", ")")));
+            } else {
+                regex.append(wordPattern(word));
+            }
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String wordPattern(String word) {
+        StringBuilder regex = new StringBuilder();
+        int i = 0;
+        while (i < word.length()) {
+            char c = word.charAt(i);
+            if (c == '\\' && i + 1 < word.length()) {
+                regex.append(Pattern.quote(String.valueOf(word.charAt(i + 1))));
+                i += 2;
+            } else if (c == '{' && word.indexOf('}', i) > 0) {
+                int end = word.indexOf('}', i);
+                regex.append(parameterPattern(word.substring(i + 1, end)));
+                i = end + 1;
+            } else if (c == '(' && word.indexOf(')', i) > 0) {
+                int end = word.indexOf(')', i);
+                regex.append("(?:").append(Pattern.quote(word.substring(i + 1, end))).append(")?");
+                i = end + 1;
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+                i++;
+            }
+        }
+        return regex.toString();
+    }
+
+    private static String parameterPattern(String type) {
+        switch (type) {
+            case "int":
+            case "long":
+            case "byte":
+            case "short":
+            case "biginteger":
+                return "-?\\d+";
+            case "float":
+            case "double":
+            case "bigdecimal":
+                return "-?\\d*[.,]?\\d+";
+            case "string":
+                return "(?:\"[^\"]*\"|'[^']*')";
+            case "word":
+                return "\\S+";
+            default:
+                return ".*";
+        }
+    }
+
+    /**
+     * Finds root of the git working tree, the working directory of a ShardLauncher shard is target/shards/N
+     */
+    static Path projectRoot() throws IOException {
+        Process process = new ProcessBuilder("git", "rev-parse", "--show-toplevel")
+                .redirectErrorStream(true)
+                .start();
+        String output;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            output = reader.lines().collect(Collectors.joining("\n")).trim();
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new RuntimeException("git rev-parse --show-toplevel failed: " + output);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resolving project root", e);
+        }
+        return Paths.get(output);
+    }
+
+    /**
+     * Reads changed lines of the working tree compared with git revision
+     *
+     * @return changed line numbers by file path relative to projectDir, the git root
+     */
+    static Map<String, Set<Integer>> gitDiff(Path projectDir, String base) throws IOException {
+        Process process = new ProcessBuilder("git", "diff", "--unified=0", "--no-color", "--no-renames", base, "--")
+                .directory(projectDir.toFile())
+                .redirectErrorStream(true)
+                .start();
+        Map<String, Set<Integer>> changes = new LinkedHashMap<>();
+        List<String> output = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String removedPath = null;
+            Set<Integer> lines = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                output.add(line);
+                if (line.startsWith("--- ")) {
+                    removedPath = line.startsWith("--- a/") ? line.substring(6) : null;
+                } else if (line.startsWith("+++ ")) {
+                    String path = line.startsWith("+++ b/") ? line.substring(6) : removedPath;
+                    lines = changes.computeIfAbsent(path, key -> new TreeSet<>());
+                    if (!line.startsWith("+++ b/")) {
+                        // Removed file, no lines left to map
+                        lines = null;
+                    }
+                } else if (lines != null) {
+                    Matcher hunk = HUNK.matcher(line);
+                    if (hunk.find()) {
+                        int start = Integer.parseInt(hunk.group(1));
+                        int count = hunk.group(2) == null ? 1 : Integer.parseInt(hunk.group(2));
+                        if (count == 0) {
+                            // Pure removal has no new lines, the lines around it stand for it
+                            lines.add(Math.max(1, start));
+                            lines.add(start + 1);
+                        }
+                        for (int changed = start; changed < start + count; changed++) {
+                            lines.add(changed);
+                        }
+                    }
+                }
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new RuntimeException("git diff " + base + " failed: " + String.join("\n", output));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading git diff", e);
+        }
+        return changes;
+    }
+
+    private static List<Path> list(Path dir, String extension) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(extension)).sorted().collect(Collectors.toList());
+        }
+    }
+}
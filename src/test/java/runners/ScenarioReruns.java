@@ -0,0 +1,116 @@
+package runners;
+
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Scenarios failed in the main pass and their rerun outcomes
+ * A scenario passing on a rerun is flaky, one failing every rerun is failed
+ */
+final class ScenarioReruns {
+    private static final Logger logger = LoggerFactory.getLogger(ScenarioReruns.class);
+    static final String SUMMARY_FILE = "target/cucumber-reports/rerun-summary.txt";
+
+    private final Queue<Failure> failures = new ConcurrentLinkedQueue<>();
+    private final List<String> flaky = new ArrayList<>();
+    private final List<String> failed = new ArrayList<>();
+
+    /**
+     * Queues failed scenario for rerun after the main pass
+     */
+    void add(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper, Throwable cause) {
+        failures.add(new Failure(pickleWrapper, featureWrapper, cause));
+    }
+
+    boolean isEmpty() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Reruns every queued scenario until it passes or attempts run out
+     *
+     * @param attempts reruns per scenario, retry.count
+     * @param scenario runs one scenario, throws when it fails
+     * @return scenarios failed on every attempt, empty when all passed
+     */
+    List<String> rerun(int attempts, ScenarioRun scenario) {
+        Failure failure;
+        while ((failure = failures.poll()) != null) {
+            String name = failure.describe();
+            Throwable lastError = failure.cause;
+            boolean passed = false;
+            for (int attempt = 1; attempt <= attempts && !passed; attempt++) {
+                logger.info("Rerunning {} (attempt {}/{})", name, attempt, attempts);
+                try {
+                    scenario.run(failure.pickleWrapper, failure.featureWrapper);
+                    passed = true;
+                    flaky.add(name + " - passed on rerun " + attempt + ", first failure: " + message(failure.cause));
+                } catch (Throwable e) {
+                    lastError = e;
+                }
+            }
+            if (!passed) {
+                failed.add(name + " - failed " + (attempts + 1) + " times, last failure: " + message(lastError));
+            }
+        }
+        writeSummary();
+        return failed;
+    }
+
+    private void writeSummary() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Flaky (passed on rerun): " + flaky.size());
+        flaky.forEach(line -> lines.add("  " + line));
+        lines.add("Failed (every rerun): " + failed.size());
+        failed.forEach(line -> lines.add("  " + line));
+        lines.forEach(logger::info);
+
+        Path file = Paths.get(SUMMARY_FILE);
+        try {
+            Files.createDirectories(file.getParent());
+            Files.write(file, lines);
+        } catch (IOException e) {
+            logger.warn("Failed to write rerun summary {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static String message(Throwable error) {
+        String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        return message.lines().findFirst().orElse(message);
+    }
+
+    /**
+     * One scenario execution, same as TestRunner.runScenario
+     */
+    @FunctionalInterface
+    interface ScenarioRun {
+        void run(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable;
+    }
+
+    private static final class Failure {
+        private final PickleWrapper pickleWrapper;
+        private final FeatureWrapper featureWrapper;
+        private final Throwable cause;
+
+        private Failure(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper, Throwable cause) {
+            this.pickleWrapper = pickleWrapper;
+            this.featureWrapper = featureWrapper;
+            this.cause = cause;
+        }
+
+        private String describe() {
+            return pickleWrapper.getPickle().getName() + " (" + EnginePickleWrapper.historyKey(pickleWrapper) + ")";
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package runners;
+
+import config.BrowserServer;
+import config.ConfigReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs the suite as shard.total parallel JVMs, one per shard, then merges their reports
+ * Every JVM has its own browser pool and stand-in server, so no shard waits on another,
+ * with browser.server.enabled the pools connect to one browser server started here instead of launching browsers,
+ * shard N runs in target/shards/N, its reports and logs stay there until merged into target
+ *
+ * Run: mvn test -Pshards -Dshard.total=3 [-Dparallel.workers=2]
+ */
+public final class ShardLauncher {
+    private static final Logger logger = LoggerFactory.getLogger(ShardLauncher.class);
+
+    private ShardLauncher() {
+        // Main class
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path projectDir = Paths.get("").toAbsolutePath();
+        Path shardsDir = projectDir.resolve(ShardReportMerger.SHARDS_DIR);
+        int total = ConfigReader.getShardTotal();
+        logger.info("Starting {} shards in {}", total, shardsDir);
+
+        // Shards save their durations when they end, the split must come from history as it was before any did
+        Path snapshot = shardsDir.resolve("scenario-durations.snapshot");
+        Files.createDirectories(shardsDir);
+        Path history = projectDir.resolve(ConfigReader.getScenarioDurationsFile());
+        if (Files.exists(history)) {
+            Files.copy(history, snapshot, StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(snapshot);
+        }
+
+        // One browser server for all shards instead of a browser per pool slot in every shard
+        List<BrowserServer> servers = ConfigReader.isBrowserServerEnabled() ? BrowserServer.startAll() : List.of();
+        List<Process> shards = new ArrayList<>();
+        for (int index = 0; index < total; index++) {
+            Path shardDir = shardsDir.resolve(String.valueOf(index));
+            Files.createDirectories(shardDir);
+            ProcessBuilder builder = new ProcessBuilder(command(projectDir, shardDir, snapshot, index, total))
+                    .directory(shardDir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(shardDir.resolve("shard.log").toFile());
+            shards.add(builder.start());
+        }
+
+        boolean passed = true;
+        try {
+            for (int index = 0; index < total; index++) {
+                int exitCode = shards.get(index).waitFor();
+                logger.info("Shard {} finished with exit code {}, log: {}", index, exitCode,
+                        shardsDir.resolve(index + "/shard.log"));
+                passed &= exitCode == 0;
+            }
+        } finally {
+            servers.forEach(BrowserServer::stop);
+        }
+
+        ShardReportMerger.merge(shardsDir, projectDir.resolve("target"));
+        if (!passed) {
+            logger.error("Some shards failed, see merged reports in target");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Builds TestNG command of one shard
+     * JVM options of the launcher (-javaagent, -D) are passed on, paths shared by all shards are made absolute
+     */
+    private static List<String> command(Path projectDir, Path shardDir, Path snapshot, int index, int total) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!argument.startsWith("-Dshard.") && !argument.startsWith("-Dallure.results.directory")) {
+                command.add(argument);
+            }
+        }
+        command.add("-Dshard.index=" + index);
+        command.add("-Dshard.total=" + total);
+        command.add("-Dcucumber.features=" + projectDir.resolve("src/test/resources/features"));
+        command.add("-Dallure.results.directory=" + shardDir.resolve("target/allure-results"));
+        command.add("-Dhar.dir=" + projectDir.resolve(ConfigReader.getHarDirectory()));
+        command.add("-Dscenario.durations.file=" + projectDir.resolve(ConfigReader.getScenarioDurationsFile()));
+        command.add("-Dshard.durations.snapshot=" + snapshot);
+        command.add("-Dbrowser.server.dir=" + projectDir.resolve(ConfigReader.getBrowserServerDirectory()));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("org.testng.TestNG");
+        command.add("-testclass");
+        command.add(TestRunner.class.getName());
+        return command;
+    }
+}
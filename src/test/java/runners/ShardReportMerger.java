@@ -0,0 +1,185 @@
+package runners;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Merges reports of suite shards into one set of reports
+ * Each shard directory holds the target folder of one shard run (target/shards/N/target),
+ * locally written by ShardLauncher, on CI copied from the machine that ran the shard
+ *
+ * Run: mvn exec:java -Dexec.mainClass=runners.ShardReportMerger -Dexec.classpathScope=test
+ *      [-Dexec.args="target/shards target"]
+ */
+public final class ShardReportMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ShardReportMerger.class);
+    static final String SHARDS_DIR = "target/shards";
+    private static final String CUCUMBER_JSON = "cucumber-reports/Cucumber.json";
+    private static final String CUCUMBER_XML = "cucumber-reports/Cucumber.xml";
+    private static final String ALLURE_RESULTS = "allure-results";
+
+    private ShardReportMerger() {
+        // Main class
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path shardsDir = Paths.get(args.length > 0 ? args[0] : SHARDS_DIR);
+        Path targetDir = Paths.get(args.length > 1 ? args[1] : "target");
+        merge(shardsDir, targetDir);
+    }
+
+    /**
+     * Merges Cucumber JSON, JUnit XML and Allure results of every shard into target directory
+     *
+     * @param shardsDir directory with one sub-directory per shard
+     * @param targetDir directory receiving cucumber-reports and allure-results
+     */
+    public static void merge(Path shardsDir, Path targetDir) throws IOException {
+        List<Path> shardTargets;
+        try (Stream<Path> shards = Files.list(shardsDir)) {
+            shardTargets = shards.map(shard -> shard.resolve("target")).filter(Files::isDirectory).sorted().toList();
+        }
+        if (shardTargets.isEmpty()) {
+            throw new RuntimeException("No shard reports found in " + shardsDir);
+        }
+
+        Files.createDirectories(targetDir.resolve("cucumber-reports"));
+        mergeCucumberJson(shardTargets, targetDir.resolve(CUCUMBER_JSON));
+        mergeJUnitXml(shardTargets, targetDir.resolve(CUCUMBER_XML));
+        int allureFiles = copyAllureResults(shardTargets, targetDir.resolve(ALLURE_RESULTS));
+        logger.info("Merged reports of {} shards into {} ({} Allure result files)",
+                shardTargets.size(), targetDir, allureFiles);
+    }
+
+    /**
+     * Joins features of all shards, scenarios of a feature split between shards end up in one feature
+     */
+    private static void mergeCucumberJson(List<Path> shardTargets, Path output) throws IOException {
+        Map<String, JsonObject> features = new LinkedHashMap<>();
+        for (Path shardTarget : shardTargets) {
+            Path report = shardTarget.resolve(CUCUMBER_JSON);
+            if (!Files.exists(report)) {
+                logger.warn("Shard has no Cucumber JSON report: {}", report);
+                continue;
+            }
+            try (Reader reader = Files.newBufferedReader(report)) {
+                for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                    JsonObject feature = element.getAsJsonObject();
+                    JsonObject merged = features.putIfAbsent(feature.get("uri").getAsString(), feature);
+                    if (merged != null && feature.has("elements")) {
+                        if (!merged.has("elements")) {
+                            merged.add("elements", new JsonArray());
+                        }
+                        merged.getAsJsonArray("elements").addAll(feature.getAsJsonArray("elements"));
+                    }
+                }
+            }
+        }
+        JsonArray merged = new JsonArray();
+        features.values().forEach(merged::add);
+        Files.writeString(output, new GsonBuilder().setPrettyPrinting().create().toJson(merged));
+    }
+
+    /**
+     * Joins test cases of all shards into one testsuite, summing its counters
+     */
+    private static void mergeJUnitXml(List<Path> shardTargets, Path output) throws IOException {
+        try {
+            Document merged = null;
+            Element suite = null;
+            for (Path shardTarget : shardTargets) {
+                Path report = shardTarget.resolve(CUCUMBER_XML);
+                if (!Files.exists(report)) {
+                    logger.warn("Shard has no JUnit report: {}", report);
+                    continue;
+                }
+                Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(report.toFile());
+                Element shardSuite = document.getDocumentElement();
+                if (merged == null) {
+                    merged = document;
+                    suite = shardSuite;
+                    continue;
+                }
+                for (String counter : new String[]{"tests", "failures", "errors", "skipped"}) {
+                    suite.setAttribute(counter, String.valueOf(
+                            intAttribute(suite, counter) + intAttribute(shardSuite, counter)));
+                }
+                // Shards run at the same time, the slowest one is the suite time
+                suite.setAttribute("time", String.valueOf(
+                        Math.max(doubleAttribute(suite, "time"), doubleAttribute(shardSuite, "time"))));
+                NodeList testCases = shardSuite.getElementsByTagName("testcase");
+                for (int i = 0; i < testCases.getLength(); i++) {
+                    Node testCase = merged.importNode(testCases.item(i), true);
+                    suite.appendChild(testCase);
+                }
+            }
+            if (merged == null) {
+                return;
+            }
+            Transformer transformer = TransformerFactory.newInstance().newTransformer();
+            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+            transformer.transform(new DOMSource(merged), new StreamResult(output.toFile()));
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to merge JUnit reports into " + output, e);
+        }
+    }
+
+    /**
+     * Copies Allure result files, their names are unique per test so shards never collide
+     */
+    private static int copyAllureResults(List<Path> shardTargets, Path output) throws IOException {
+        Files.createDirectories(output);
+        int copied = 0;
+        for (Path shardTarget : shardTargets) {
+            Path results = shardTarget.resolve(ALLURE_RESULTS);
+            if (!Files.isDirectory(results)) {
+                continue;
+            }
+            try (Stream<Path> files = Files.list(results)) {
+                for (Path file : files.filter(Files::isRegularFile).toList()) {
+                    Files.copy(file, output.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    copied++;
+                }
+            }
+        }
+        return copied;
+    }
+
+    private static int intAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    private static double doubleAttribute(Element element, String name) {
+        String value = element.getAttribute(name);
+        return value.isEmpty() ? 0 : Double.parseDouble(value);
+    }
+}
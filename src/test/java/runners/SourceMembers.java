@@ -0,0 +1,265 @@
+package runners;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Members of one page object or step definitions class read from its source, with what each member references
+ * Comments and string literals are blanked before scanning, so selectors and Javadoc never count as references
+ */
+final class SourceMembers {
+    private static final Pattern CLASS_HEADER = Pattern.compile("\\bclass\\s+(\\w+)(?:\\s*<[^{]*?>)?(?:\\s+extends\\s+(\\w+))?");
+    private static final Pattern CONSTANT = Pattern.compile("\\bstatic\\s+final\\s+[\\w<>\\[\\], ]+?\\s(\\w+)\\s*=");
+    private static final Pattern METHOD_HEADER = Pattern.compile("(\\w+)\\s*\\([^)]*\\)\\s*(?:throws\\s+[\\w\\s,.]+)?$");
+    private static final Pattern STEP_ANNOTATION = Pattern.compile("@(?:Given|When|Then|And|But)\\(\\s*\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final Pattern VARIABLE = Pattern.compile("\\b([A-Z]\\w*)(?:<[^>;=]*>)?\\s+(\\w+)\\s*(?=[=;,)])");
+    private static final Pattern QUALIFIED_CALL = Pattern.compile("\\b(\\w+)\\s*\\.\\s*(\\w+)\\s*\\(");
+    private static final Pattern UNQUALIFIED_CALL = Pattern.compile("(?<![.\\w])(\\w+)\\s*\\(");
+    private static final Pattern CONSTRUCTOR_CALL = Pattern.compile("\\bnew\\s+(\\w+)\\s*\\(");
+    private static final Pattern CONSTANT_NAME = Pattern.compile("\\b([A-Z][A-Z0-9_]+)\\b");
+    private static final Set<String> KEYWORDS = Set.of("if", "for", "while", "switch", "catch", "return", "new",
+            "synchronized", "this", "throw", "assert");
+
+    final String className;
+    final String superClass;
+    final List<Member> members = new ArrayList<>();
+    final Map<String, String> variableTypes = new HashMap<>();
+    private final Set<Integer> classLevelLines = new HashSet<>();
+
+    private SourceMembers(String className, String superClass) {
+        this.className = className;
+        this.superClass = superClass;
+    }
+
+    /**
+     * Member of the class - constant, method or constructor
+     */
+    static final class Member {
+        final String name;
+        final int startLine;
+        final int endLine;
+        final List<String> stepExpressions;
+        /** Calls as receiver.method, receiver is a variable, class name or empty for own class */
+        final List<String[]> calls = new ArrayList<>();
+        final Set<String> constants = new HashSet<>();
+
+        private Member(String name, int startLine, int endLine, List<String> stepExpressions) {
+            this.name = name;
+            this.startLine = startLine;
+            this.endLine = endLine;
+            this.stepExpressions = stepExpressions;
+        }
+    }
+
+    /**
+     * Reads members of the first top-level class in the file
+     */
+    static SourceMembers parse(Path file) throws IOException {
+        String source = Files.readString(file);
+        String code = mask(source);
+        int[] lineStarts = lineStarts(code);
+
+        Matcher header = CLASS_HEADER.matcher(code);
+        if (!header.find()) {
+            throw new RuntimeException("No class declaration in " + file);
+        }
+        SourceMembers result = new SourceMembers(header.group(1), header.group(2));
+        int bodyStart = code.indexOf('{', header.end());
+
+        Matcher variable = VARIABLE.matcher(code);
+        while (variable.find()) {
+            result.variableTypes.putIfAbsent(variable.group(2), variable.group(1));
+        }
+
+        int depth = 1;
+        int memberStart = -1;
+        int blockStart = -1;
+        for (int i = bodyStart + 1; i < code.length() && depth > 0; i++) {
+            char c = code.charAt(i);
+            if (depth == 1 && memberStart < 0 && !Character.isWhitespace(c) && c != '}') {
+                memberStart = i;
+            }
+            if (c == '{') {
+                if (depth == 1 && memberStart >= 0 && !code.substring(memberStart, i).contains("=")) {
+                    blockStart = i;
+                }
+                depth++;
+            } else if (c == '}') {
+                depth--;
+                if (depth == 1 && blockStart >= 0) {
+                    result.addBlock(source, code, lineStarts, memberStart, blockStart, i);
+                    memberStart = -1;
+                    blockStart = -1;
+                }
+            } else if (c == ';' && depth == 1 && memberStart >= 0) {
+                result.addStatement(code, lineStarts, memberStart, i);
+                memberStart = -1;
+            }
+        }
+
+        // Code outside members: imports and package do not change behaviour, class declaration and fields do
+        for (int line = 1; line <= lineStarts.length; line++) {
+            String text = lineText(code, lineStarts, line).trim();
+            if (!text.isEmpty() && !text.startsWith("import ") && !text.startsWith("package ")
+                    && !text.equals("}") && result.memberAt(line) == null) {
+                result.classLevelLines.add(line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets member declared on line, null for lines outside members
+     */
+    Member memberAt(int line) {
+        for (Member member : members) {
+            if (line >= member.startLine && line <= member.endLine) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if line holds code outside members, a change there can affect every member
+     */
+    boolean isClassLevel(int line) {
+        return classLevelLines.contains(line);
+    }
+
+    Member member(String name) {
+        for (Member member : members) {
+            if (member.name.equals(name)) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    private void addStatement(String code, int[] lineStarts, int start, int end) {
+        Matcher constant = CONSTANT.matcher(code.substring(start, end));
+        if (constant.find()) {
+            Member member = new Member(constant.group(1), lineOf(lineStarts, start), lineOf(lineStarts, end), List.of());
+            collectReferences(member, code.substring(start, end));
+            members.add(member);
+        }
+    }
+
+    private void addBlock(String source, String code, int[] lineStarts, int start, int braceIndex, int end) {
+        String memberHeader = code.substring(start, braceIndex).trim();
+        Matcher method = METHOD_HEADER.matcher(memberHeader);
+        if (!method.find() || memberHeader.contains(" class ") || memberHeader.startsWith("class ")) {
+            // Nested classes and initializer blocks stay class-level code
+            return;
+        }
+        List<String> expressions = new ArrayList<>();
+        Matcher annotation = STEP_ANNOTATION.matcher(source.substring(start, braceIndex));
+        while (annotation.find()) {
+            expressions.add(annotation.group(1).replace("\\\"", "\"").replace("\\\\", "\\"));
+        }
+        Member member = new Member(method.group(1), lineOf(lineStarts, start), lineOf(lineStarts, end), expressions);
+        collectReferences(member, code.substring(braceIndex, end));
+        members.add(member);
+    }
+
+    private void collectReferences(Member member, String body) {
+        Matcher qualified = QUALIFIED_CALL.matcher(body);
+        while (qualified.find()) {
+            member.calls.add(new String[]{qualified.group(1), qualified.group(2)});
+        }
+        Matcher unqualified = UNQUALIFIED_CALL.matcher(body);
+        while (unqualified.find()) {
+            String name = unqualified.group(1);
+            if (name.equals("super") && superClass != null) {
+                member.calls.add(new String[]{superClass, superClass});
+            } else if (!KEYWORDS.contains(name) && !name.equals("super")
+                    && !body.substring(0, unqualified.start()).endsWith("new ")) {
+                member.calls.add(new String[]{"", name});
+            }
+        }
+        Matcher constructor = CONSTRUCTOR_CALL.matcher(body);
+        while (constructor.find()) {
+            member.calls.add(new String[]{constructor.group(1), constructor.group(1)});
+        }
+        Matcher constant = CONSTANT_NAME.matcher(body);
+        while (constant.find()) {
+            member.constants.add(constant.group(1));
+        }
+    }
+
+    /**
+     * Replaces comments and string/char literals with spaces, keeping line breaks and offsets
+     */
+    private static String mask(String source) {
+        StringBuilder code = new StringBuilder(source);
+        int i = 0;
+        while (i < code.length()) {
+            char c = code.charAt(i);
+            char next = i + 1 < code.length() ? code.charAt(i + 1) : 0;
+            int end;
+            if (c == '/' && next == '/') {
+                end = indexOrEnd(code, "\n", i);
+            } else if (c == '/' && next == '*') {
+                end = indexOrEnd(code, "*/", i + 2) + 2;
+            } else if (c == '"' && code.indexOf("\"\"\"", i) == i) {
+                end = indexOrEnd(code, "\"\"\"", i + 3) + 3;
+            } else if (c == '"' || c == '\'') {
+                end = i + 1;
+                while (end < code.length() && code.charAt(end) != c && code.charAt(end) != '\n') {
+                    end += code.charAt(end) == '\\' ? 2 : 1;
+                }
+                end++;
+            } else {
+                i++;
+                continue;
+            }
+            end = Math.min(end, code.length());
+            for (int j = i; j < end; j++) {
+                if (code.charAt(j) != '\n') {
+                    code.setCharAt(j, ' ');
+                }
+            }
+            i = end;
+        }
+        return code.toString();
+    }
+
+    private static int indexOrEnd(CharSequence text, String token, int from) {
+        int index = text.toString().indexOf(token, from);
+        return index < 0 ? text.length() : index;
+    }
+
+    private static int[] lineStarts(String text) {
+        List<Integer> starts = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                starts.add(i + 1);
+            }
+        }
+        return starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int lineOf(int[] lineStarts, int index) {
+        int line = 0;
+        while (line + 1 < lineStarts.length && lineStarts[line + 1] <= index) {
+            line++;
+        }
+        return line + 1;
+    }
+
+    private static String lineText(String text, int[] lineStarts, int line) {
+        int start = lineStarts[line - 1];
+        int end = line < lineStarts.length ? lineStarts[line] : text.length();
+        return text.substring(start, end);
+    }
+}
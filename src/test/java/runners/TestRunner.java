@@ -1,14 +1,29 @@
 package runners;
 
+import config.BrowserManager;
+import config.ConfigReader;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.testng.ITestContext;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import utils.ScenarioDurationHistory;
+import utils.ScenarioShards;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 @CucumberOptions(
         features = "src/test/resources/features",
         glue = {"steps", "hooks"},
         plugin = {
-                "pretty",
+                "summary",
+                "timeline:target/cucumber-reports/timeline",
                 "html:target/cucumber-reports/report.html",
                 "json:target/cucumber-reports/Cucumber.json",
                 "junit:target/cucumber-reports/Cucumber.xml",
@@ -17,16 +32,110 @@ import org.testng.annotations.DataProvider;
         tags = "@regression or @smoke"
 )
 public class TestRunner extends AbstractTestNGCucumberTests {
-//
-//    /**
-//     * Enable parallel execution of scenarios
-//     * Each scenario runs in separate thread
-//     *
-//     * @return scenarios data provider
-//     */
-//    @Override
-//    @DataProvider(parallel = true)
-//    public Object[][] scenarios() {
-//        return super.scenarios();
-//    }
-}
\ No newline at end of file
+    private final ScenarioReruns reruns = new ScenarioReruns();
+
+    /**
+     * Applies configured worker count (parallel.workers) to the scenario data provider
+     * Set parallel.workers=1 to run scenarios serially, a browser matrix run shares the workers between engines
+     *
+     * @param context TestNG context of the running suite
+     */
+    @BeforeClass(alwaysRun = true)
+    public void configureParallelWorkers(ITestContext context) {
+        context.getCurrentXmlTest().getSuite().setDataProviderThreadCount(ConfigReader.getParallelWorkers());
+    }
+
+    /**
+     * Enable parallel execution of scenarios
+     * Each scenario runs in separate thread with its own context and page
+     * With scenario.order=longest-first workers take the longest scenarios first,
+     * so the suite does not end waiting on one long scenario started last
+     * With impact.base only scenarios impacted by changes since that git revision are run, plus @smoke
+     * With browser.matrix every scenario is run once per engine
+     * With shard.total above 1 only scenarios of shard.index are run
+     *
+     * @return scenarios data provider
+     */
+    @Override
+    @DataProvider(parallel = true)
+    public Object[][] scenarios() {
+        List<Object[]> scenarios = Arrays.asList(super.scenarios());
+        String impactBase = ConfigReader.getImpactBase();
+        if (impactBase != null && !impactBase.isBlank()) {
+            scenarios = ImpactIndex.select(impactBase, scenarios, TestRunner::historyKey,
+                    scenario -> ((PickleWrapper) scenario[0]).getPickle().getTags().contains("@smoke"));
+        }
+        List<String> matrix = ConfigReader.getBrowserMatrix();
+        if (!matrix.isEmpty()) {
+            List<Object[]> expanded = new ArrayList<>();
+            for (Object[] scenario : scenarios) {
+                for (String engine : matrix) {
+                    expanded.add(new Object[]{new EnginePickleWrapper((PickleWrapper) scenario[0], engine), scenario[1]});
+                }
+            }
+            scenarios = expanded;
+        }
+        scenarios = ScenarioShards.select(scenarios, TestRunner::historyKey);
+        if (ConfigReader.isLongestFirstOrder()) {
+            scenarios = ScenarioDurationHistory.orderLongestFirst(scenarios, TestRunner::historyKey);
+        }
+        return scenarios.toArray(new Object[0][]);
+    }
+
+    /**
+     * Runs one scenario
+     * With retry.count above 0 a failed scenario is reported as skipped and queued for rerunFailedScenarios
+     */
+    @Override
+    @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+    public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        try {
+            runOnEngine(pickleWrapper, featureWrapper);
+        } catch (SkipException e) {
+            throw e;
+        } catch (Throwable e) {
+            if (ConfigReader.getRetryCount() <= 0) {
+                throw e;
+            }
+            reruns.add(pickleWrapper, featureWrapper, e);
+            throw new SkipException("Failed, queued for rerun: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reruns scenarios failed in the main pass, up to retry.count times each, one at a time
+     * The browser stays up from the main pass, every rerun gets a fresh context from the hooks,
+     * Scenarios passing on a rerun are reported as flaky, the summary is written to
+     * target/cucumber-reports/rerun-summary.txt
+     * Allure groups attempts by historyId (feature uri and line), the last attempt is the reported result,
+     * Cucumber html/json/junit reports keep every attempt
+     */
+    @Test(groups = "cucumber", description = "Reruns failed Cucumber Scenarios",
+            dependsOnMethods = "runScenario", alwaysRun = true)
+    public void rerunFailedScenarios() {
+        if (reruns.isEmpty()) {
+            return;
+        }
+        List<String> failed = reruns.rerun(ConfigReader.getRetryCount(), this::runOnEngine);
+        if (!failed.isEmpty()) {
+            throw new AssertionError(failed.size() + " scenario(s) failed on every rerun:\n"
+                    + String.join("\n", failed));
+        }
+    }
+
+    /**
+     * Runs scenario with pages of its browser matrix engine, or of browser.type outside a matrix run
+     */
+    private void runOnEngine(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) throws Throwable {
+        BrowserManager.useEngine(EnginePickleWrapper.engineOf(pickleWrapper));
+        try {
+            super.runScenario(pickleWrapper, featureWrapper);
+        } finally {
+            BrowserManager.useEngine(null);
+        }
+    }
+
+    private static String historyKey(Object[] scenario) {
+        return EnginePickleWrapper.historyKey((PickleWrapper) scenario[0]);
+    }
+}
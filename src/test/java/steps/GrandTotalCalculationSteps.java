@@ -1,7 +1,9 @@
 package steps;
 
+import api.FundaApiClient;
 import com.microsoft.playwright.Page;
 import config.BrowserManager;
+import config.SessionCache;
 import config.TestConfig;
 import config.TestDataManager;
 import io.cucumber.java.After;
@@ -18,6 +20,7 @@ import pages.ClientLoginPage;
 import pages.AdminDashboardPage;
 import pages.UserHeaderPage;
 
+
 import static utils.ScreenshotUtils.takeScreenshot;
 
 /**
@@ -38,20 +41,34 @@ public class GrandTotalCalculationSteps {
      */
     private void initializePageObjects() {
         if (page == null) {
-            page = BrowserManager.getCurrentPage();
-            if (page == null) {
+            Page currentPage = BrowserManager.getCurrentPage();
+            if (currentPage == null) {
                 throw new RuntimeException("No page available - browser not initialized");
             }
-            clientLoginPage = new ClientLoginPage(page);
-            userHeaderPage = new UserHeaderPage(page);
-
+            bindPageObjects(currentPage);
         }
     }
 
+    private void bindPageObjects(Page currentPage) {
+        page = currentPage;
+        clientLoginPage = new ClientLoginPage(page);
+        userHeaderPage = new UserHeaderPage(page);
+    }
+
     @Given("I am logged in as Admin on the Admin Dashboard")
     @Step("Loggin as Admin to the Admin Dashboard")
     public void iAmLoggedAsAdminOnTheAdminDashboard() {
+        if (SessionCache.isEnabled()) {
+            openAdminDashboardWithCachedSession();
+            return;
+        }
         initializePageObjects();
+        if (FundaApiClient.isEnabled()) {
+            new FundaApiClient(page.context()).login(SessionCache.Role.ADMIN);
+            page.navigate(TestDataManager.URLs.getAdminDashboardUrl());
+            clientLoginPage.waitForPageToLoad();
+            return;
+        }
         String adminLoginUrl = TestDataManager.URLs.getAdminLoginUrl();
         page.navigate(adminLoginUrl);
         clientLoginPage.waitForPageToLoad();
@@ -61,4 +78,24 @@ public class GrandTotalCalculationSteps {
         //Wait Admin Dashboard page loaded
         page.waitForURL("**/admin", new Page.WaitForURLOptions().setTimeout(TestDataManager.TestConfiguration.getElementTimeout()));
     }
+
+    /**
+     * Opens Admin Dashboard on the page the hook created from the admin session cache (@session=admin)
+     * Logs in again once in a fresh context if the application no longer accepts the cached session
+     */
+    private void openAdminDashboardWithCachedSession() {
+        initializePageObjects();
+        page.navigate(TestDataManager.URLs.getAdminDashboardUrl());
+        clientLoginPage.waitForPageToLoad();
+        if (!SessionCache.isRedirectedToLogin(page)) {
+            return;
+        }
+        SessionCache.invalidate(SessionCache.Role.ADMIN);
+        bindPageObjects(BrowserManager.createNewPage(SessionCache.Role.ADMIN));
+        page.navigate(TestDataManager.URLs.getAdminDashboardUrl());
+        clientLoginPage.waitForPageToLoad();
+        if (SessionCache.isRedirectedToLogin(page)) {
+            throw new RuntimeException("Admin session could not be restored from session cache");
+        }
+    }
 }
@@ -0,0 +1,69 @@
+package steps;
+
+import com.microsoft.playwright.Page;
+import config.BrowserManager;
+import io.cucumber.java.en.Then;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Step;
+import utils.NavigationMetrics;
+import utils.PerformanceBudget;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.testng.Assert.*;
+
+/**
+ * Reusable step definitions asserting performance of the current page
+ * Metrics are read from the last finished page load, see NavigationMetrics
+ */
+public class PerformanceBudgetSteps {
+
+    @Then("the page should load within {int} ms")
+    @Step("Verify the page loads within {maxMillis} ms")
+    public void thePageShouldLoadWithin(int maxMillis) {
+        NavigationMetrics.Sample sample = measureCurrentPage();
+        assertTrue(sample.getLoadMillis() <= maxMillis,
+                "Page " + sample.getUrlTemplate() + " loaded in " + Math.round(sample.getLoadMillis())
+                        + " ms, budget is " + maxMillis + " ms");
+    }
+
+    @Then("no more than {int} requests should be made")
+    @Step("Verify no more than {maxRequests} requests are made")
+    public void noMoreThanRequestsShouldBeMade(int maxRequests) {
+        NavigationMetrics.Sample sample = measureCurrentPage();
+        assertTrue(sample.getRequestCount() <= maxRequests,
+                "Page " + sample.getUrlTemplate() + " made " + sample.getRequestCount()
+                        + " requests, budget is " + maxRequests);
+    }
+
+    /**
+     * Checks the current page against its budgets from config/performance-budgets, whatever performance.budget.mode is
+     */
+    @Then("the page should meet its performance budgets")
+    @Step("Verify the page meets its performance budgets")
+    public void thePageShouldMeetItsPerformanceBudgets() {
+        NavigationMetrics.Sample sample = measureCurrentPage();
+        List<String> violations = PerformanceBudget.findViolations(sample);
+        assertTrue(violations.isEmpty(),
+                "Performance budget exceeded on " + sample.getUrlTemplate() + ": " + violations);
+    }
+
+    /**
+     * Reads metrics of the current page and attaches measured values to the report
+     */
+    private NavigationMetrics.Sample measureCurrentPage() {
+        Page page = BrowserManager.getCurrentPage();
+        if (page == null) {
+            throw new RuntimeException("No page available - browser not initialized");
+        }
+        page.waitForLoadState();
+        NavigationMetrics.Sample sample = NavigationMetrics.measure(page);
+        if (sample == null) {
+            fail("No navigation metrics for " + page.url() + " - page has not finished loading");
+        }
+        Allure.addAttachment("Navigation metrics: " + sample.getUrlTemplate(), "text/plain",
+                PerformanceBudget.describe(sample, Collections.emptyList()));
+        return sample;
+    }
+}
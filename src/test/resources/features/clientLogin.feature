@@ -45,3 +45,7 @@ Feature: Login Functionality
     When I enter valid email
     And I click on the Sign in button
     Then I should see required password error message
+
+  @severity=medium @story=ClientLoginPerformance @regression @performance
+  Scenario: Login page loads within performance budget
+    Then the page should meet its performance budgets
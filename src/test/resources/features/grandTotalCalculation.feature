@@ -1,4 +1,4 @@
-@epic=GrandTotalCalculation @feature=GrandTotalCalculationFeature
+@epic=GrandTotalCalculation @feature=GrandTotalCalculationFeature @session=admin
 Feature: Grand Total Calculation Functionality
   As an Admin
   I want to be able to see correct calculation Grand Total for the deleted booked days from the activity by Admin